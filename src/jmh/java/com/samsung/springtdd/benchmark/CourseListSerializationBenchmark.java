@@ -0,0 +1,56 @@
+package com.samsung.springtdd.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the {@code POST /register} response: the {@code List<CourseSummary>} it
+ * returns now, against the {@code List<Course>} entities it used to return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseListSerializationBenchmark {
+    @Param({"1", "10", "50"})
+    private int courses;
+
+    private ObjectMapper objectMapper;
+    private List<Course> entities;
+    private List<CourseSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime start = LocalDateTime.of(2023, 1, 2, 10, 0);
+        entities = new ArrayList<>();
+        summaries = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            Course course = InMemoryRegistrationFixture.course(i, "Course " + i, start.plusDays(i));
+            entities.add(course);
+            summaries.add(new CourseSummary(course.getId(), course.getName(), course.getStartTime(), course.getEndTime(), course.getPrice()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
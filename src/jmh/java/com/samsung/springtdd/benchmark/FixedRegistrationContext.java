@@ -0,0 +1,87 @@
+package com.samsung.springtdd.benchmark;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.RegistrationContext;
+
+import java.time.LocalDateTime;
+
+/**
+ * Context row for a student who is not yet registered for the given course.
+ */
+record FixedRegistrationContext(Student student, Course course, Course upcomingCourse) implements RegistrationContext {
+    @Override
+    public Long getStudentId() {
+        return student.getId();
+    }
+
+    @Override
+    public Long getCourseId() {
+        return course.getId();
+    }
+
+    @Override
+    public String getCourseName() {
+        return course.getName();
+    }
+
+    @Override
+    public LocalDateTime getCourseStartTime() {
+        return course.getStartTime();
+    }
+
+    @Override
+    public LocalDateTime getCourseEndTime() {
+        return course.getEndTime();
+    }
+
+    @Override
+    public Long getCoursePrice() {
+        return course.getPrice();
+    }
+
+    @Override
+    public Integer getCourseCapacity() {
+        return course.getCapacity();
+    }
+
+    @Override
+    public Integer getCourseSeatsTaken() {
+        return course.getSeatsTaken();
+    }
+
+    @Override
+    public Long getCourseVersion() {
+        return course.getVersion();
+    }
+
+    @Override
+    public Boolean getAlreadyRegistered() {
+        return false;
+    }
+
+    @Override
+    public Long getUpcomingCourseId() {
+        return upcomingCourse.getId();
+    }
+
+    @Override
+    public String getUpcomingCourseName() {
+        return upcomingCourse.getName();
+    }
+
+    @Override
+    public LocalDateTime getUpcomingCourseStartTime() {
+        return upcomingCourse.getStartTime();
+    }
+
+    @Override
+    public LocalDateTime getUpcomingCourseEndTime() {
+        return upcomingCourse.getEndTime();
+    }
+
+    @Override
+    public Long getUpcomingCoursePrice() {
+        return upcomingCourse.getPrice();
+    }
+}
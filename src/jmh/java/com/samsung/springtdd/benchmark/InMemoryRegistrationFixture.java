@@ -0,0 +1,127 @@
+package com.samsung.springtdd.benchmark;
+
+import com.samsung.springtdd.metrics.RegistrationMetrics;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSnapshot;
+import com.samsung.springtdd.models.DTO.StudentSnapshot;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.services.ConflictRetryPolicy;
+import com.samsung.springtdd.services.CourseLifecycleTracker;
+import com.samsung.springtdd.services.CoursePricing;
+import com.samsung.springtdd.services.RegistrationService;
+import com.samsung.springtdd.services.RegistrationWriteBehind;
+import com.samsung.springtdd.services.SeatAllocator;
+import com.samsung.springtdd.services.StudentScheduleIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link RegistrationService} wired to in-memory repository stand-ins, so benchmarks measure the
+ * service logic without any database latency. Every lookup answers with the same student and courses,
+ * which keeps the fixture stateless across invocations.
+ */
+final class InMemoryRegistrationFixture {
+    static final String EMAIL = "bench@example.com";
+    static final long FUTURE_COURSE_ID = 1L;
+    static final long STARTED_COURSE_ID = 2L;
+
+    // Fixed, so the future course stays in the future however long a benchmark runs
+    static final Clock CLOCK = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+
+    private InMemoryRegistrationFixture() {
+    }
+
+    static RegistrationService registrationService() {
+        LocalDateTime now = LocalDateTime.now(CLOCK);
+        Student student = Student.builder().id(1L).email(EMAIL).firstName("Bench").lastName("Mark").build();
+        Course future = course(FUTURE_COURSE_ID, "Future Course", now.plusDays(1));
+        Course started = course(STARTED_COURSE_ID, "Started Course", now.minusDays(1));
+        Course upcoming = course(3L, "Upcoming Course", now.plusDays(2));
+        Registration registration = new Registration(student, future, 1000L, now);
+
+        StudentRepository studentRepository = RepositoryStandIns.standIn(StudentRepository.class, Map.of(
+                "findSnapshotByEmail", args -> Optional.of(new StudentSnapshot(student.getId(), student.getEmail(),
+                        student.getFirstName(), student.getLastName()))));
+        CourseRepository courseRepository = RepositoryStandIns.standIn(CourseRepository.class, Map.of(
+                "findSnapshotById", args -> Optional.of(snapshot(FUTURE_COURSE_ID == (Long) args[0] ? future : started)),
+                "reserveSeat", args -> 1,
+                "releaseSeat", args -> 1));
+        RegistrationRepository registrationRepository = RepositoryStandIns.standIn(RegistrationRepository.class, Map.of(
+                "findRegistrationContext", args -> List.of(
+                        new FixedRegistrationContext(student, FUTURE_COURSE_ID == (Long) args[1] ? future : started, upcoming)),
+                "findByStudentAndCourseId", args -> Optional.of(registration),
+                "saveAndFlush", args -> args[0],
+                "delete", args -> null,
+                "flush", args -> null,
+                "findScheduleIntervals", args -> List.of()));
+
+        SeatAllocator seatAllocator = new SeatAllocator();
+        ReflectionTestUtils.setField(seatAllocator, "courseRepository", courseRepository);
+
+        // A fresh index per service, its first lookup loads the empty stand-in schedule
+        StudentScheduleIndex studentScheduleIndex = new StudentScheduleIndex();
+        ReflectionTestUtils.setField(studentScheduleIndex, "registrationRepository", registrationRepository);
+        ReflectionTestUtils.setField(studentScheduleIndex, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(studentScheduleIndex, "maxIntervals", 1000L);
+        ReflectionTestUtils.setField(studentScheduleIndex, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.invokeMethod(studentScheduleIndex, "init");
+
+        // Not started, so no scheduler thread; the stand-in courses are learned from the first registration context
+        CourseLifecycleTracker courseLifecycleTracker = new CourseLifecycleTracker();
+        ReflectionTestUtils.setField(courseLifecycleTracker, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(courseLifecycleTracker, "clock", CLOCK);
+        ReflectionTestUtils.invokeMethod(courseLifecycleTracker, "init");
+
+        // Each retry attempt opens a transaction, there is nothing to commit here
+        PlatformTransactionManager transactionManager = RepositoryStandIns.standIn(PlatformTransactionManager.class, Map.of(
+                "getTransaction", args -> new SimpleTransactionStatus(),
+                "commit", args -> null,
+                "rollback", args -> null));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        RegistrationService registrationService = new RegistrationService();
+        ReflectionTestUtils.setField(registrationService, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(registrationService, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(registrationService, "registrationRepository", registrationRepository);
+        ReflectionTestUtils.setField(registrationService, "seatAllocator", seatAllocator);
+        ReflectionTestUtils.setField(registrationService, "registrationWriteBehind", new RegistrationWriteBehind());
+        ReflectionTestUtils.setField(registrationService, "studentScheduleIndex", studentScheduleIndex);
+        ReflectionTestUtils.setField(registrationService, "courseLifecycleTracker", courseLifecycleTracker);
+        ReflectionTestUtils.setField(registrationService, "coursePricing", new CoursePricing());
+        ReflectionTestUtils.setField(registrationService, "conflictRetryPolicy",
+                new ConflictRetryPolicy(transactionManager, meterRegistry, 3, Duration.ZERO, Duration.ZERO));
+        ReflectionTestUtils.setField(registrationService, "registrationMetrics", new RegistrationMetrics(meterRegistry));
+        ReflectionTestUtils.setField(registrationService, "clock", CLOCK);
+        return registrationService;
+    }
+
+    static Course course(long id, String name, LocalDateTime startTime) {
+        return Course.builder()
+                .id(id)
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusDays(30))
+                .price(1000L)
+                .build();
+    }
+
+    static CourseSnapshot snapshot(Course course) {
+        return new CourseSnapshot(course.getId(), course.getName(), course.getStartTime(), course.getEndTime(),
+                course.getPrice(), course.getCapacity());
+    }
+}
@@ -0,0 +1,36 @@
+package com.samsung.springtdd.benchmark;
+
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.services.RegistrationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RegistrationService} hot paths against in-memory repository stand-ins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationServiceBenchmark {
+    private RegistrationService registrationService;
+
+    @Setup
+    public void setUp() {
+        registrationService = InMemoryRegistrationFixture.registrationService();
+    }
+
+    @Benchmark
+    public List<CourseSummary> register() {
+        return registrationService.register(InMemoryRegistrationFixture.EMAIL, InMemoryRegistrationFixture.FUTURE_COURSE_ID);
+    }
+
+    @Benchmark
+    public void unregister() {
+        registrationService.unregister(InMemoryRegistrationFixture.FUTURE_COURSE_ID, InMemoryRegistrationFixture.EMAIL);
+    }
+}
@@ -0,0 +1,72 @@
+package com.samsung.springtdd.benchmark;
+
+import com.samsung.springtdd.SpringTddApplication;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.services.RegistrationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RegistrationService} against the embedded H2 database from the test configuration.
+ * Each invocation registers and unregisters again so the data set stays the same size. The student
+ * already holds {@code upcomingRegistrations} other upcoming courses, which {@code register} returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationServiceH2Benchmark {
+    private static final String EMAIL = "h2bench@example.com";
+
+    @Param({"0", "10"})
+    private int upcomingRegistrations;
+
+    private ConfigurableApplicationContext context;
+    private RegistrationService registrationService;
+    private Long courseId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringTddApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        registrationService = context.getBean(RegistrationService.class);
+        context.getBean(StudentRepository.class).save(Student.builder().email(EMAIL).firstName("H2").lastName("Bench").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        courseId = saveCourse("H2 Course", start);
+        for (int i = 0; i < upcomingRegistrations; i++) {
+            registrationService.register(EMAIL, saveCourse("Upcoming Course " + i, start.plusDays(i + 1)));
+        }
+    }
+
+    private Long saveCourse(String name, LocalDateTime start) {
+        return context.getBean(CourseRepository.class).save(Course.builder()
+                .name(name)
+                .startTime(start)
+                .endTime(start.plusDays(60))
+                .price(1000L)
+                .build()).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void registerThenUnregister() {
+        registrationService.register(EMAIL, courseId);
+        registrationService.unregister(courseId, EMAIL);
+    }
+}
@@ -0,0 +1,71 @@
+package com.samsung.springtdd.benchmark;
+
+import com.samsung.springtdd.GlobalExceptionHandler;
+import com.samsung.springtdd.services.RegistrationRejectedException;
+import com.samsung.springtdd.services.RegistrationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rejected registration ("Course has already started") from the service call to the
+ * {@link GlobalExceptionHandler} response. The rejection is a stackless
+ * {@link RegistrationRejectedException}. The baseline rethrows it as the stack-capturing
+ * {@link IllegalArgumentException} the service used to throw, answered the way the handler used to with
+ * a plain-text body; the difference between the two is what the stack trace capture cost. After the
+ * first call the course is known to {@code CourseLifecycleTracker}, so the rejection happens before the
+ * registration context is read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionPathBenchmark {
+    private RegistrationService registrationService;
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Setup
+    public void setUp() {
+        registrationService = InMemoryRegistrationFixture.registrationService();
+        exceptionHandler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> rejectStartedCourse() {
+        try {
+            registrationService.register(InMemoryRegistrationFixture.EMAIL, InMemoryRegistrationFixture.STARTED_COURSE_ID);
+            throw new AssertionError("Registration should have been rejected");
+        } catch (RegistrationRejectedException e) {
+            return exceptionHandler.handleRegistrationRejectedException(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> rejectStartedCourseWithStackTrace() {
+        try {
+            try {
+                registrationService.register(InMemoryRegistrationFixture.EMAIL, InMemoryRegistrationFixture.STARTED_COURSE_ID);
+                throw new AssertionError("Registration should have been rejected");
+            } catch (RegistrationRejectedException e) {
+                rejectWithStackTrace(e.getMessage());
+                throw new AssertionError("Unreachable");
+            }
+        } catch (IllegalArgumentException e) {
+            return handleIllegalArgumentException(e);
+        }
+    }
+
+    // Not inlined, so the exception is thrown out of a real call frame like it was from the service
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static void rejectWithStackTrace(String message) {
+        throw new IllegalArgumentException(message);
+    }
+
+    // GlobalExceptionHandler.handleIllegalArgumentException before rejections carried an ErrorCode
+    private static ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
@@ -0,0 +1,30 @@
+package com.samsung.springtdd.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds repository stand-ins that answer only the methods a benchmark needs, without Mockito's
+ * invocation bookkeeping distorting the measurement.
+ */
+final class RepositoryStandIns {
+    private RepositoryStandIns() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T standIn(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = methods.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + " stand-in";
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+    }
+}
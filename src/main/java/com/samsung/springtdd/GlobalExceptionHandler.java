@@ -1,13 +1,45 @@
 package com.samsung.springtdd;
 
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.DTO.ErrorResponse;
+import com.samsung.springtdd.services.RegistrationConflictException;
+import com.samsung.springtdd.services.RegistrationQueueFullException;
+import com.samsung.springtdd.services.RegistrationRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+/**
+ * Errors are answered as {@link ErrorResponse}: a stable {@link ErrorCode} and a message for people.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    @ExceptionHandler(RegistrationRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationRejectedException(RegistrationRejectedException ex) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getCode(), ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
-        return ResponseEntity.badRequest().body(ex.getMessage());
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(ErrorCode.INVALID_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(RegistrationQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationQueueFullException(RegistrationQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ErrorCode.QUEUE_FULL, ex.getMessage()));
+    }
+
+    /**
+     * See {@link com.samsung.springtdd.services.ConflictRetryPolicy} for which conflicts are retried first.
+     */
+    @ExceptionHandler(RegistrationConflictException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationConflictException(RegistrationConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ErrorCode.REGISTRATION_CONFLICT, ex.getMessage()));
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,11 @@ package com.samsung.springtdd;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is set up by ReactiveConfig for the reactive profile only, an auto-configured ConnectionFactory
+// would replace the JDBC DataSource everything else runs on
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class SpringTddApplication {
 
     public static void main(String[] args) {
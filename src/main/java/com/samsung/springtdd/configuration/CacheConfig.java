@@ -0,0 +1,15 @@
+package com.samsung.springtdd.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches for the course catalog and student lookups.
+ * Size, TTL and statistics are configured with {@code spring.cache.caffeine.spec}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String COURSES = "courses";
+    public static final String STUDENTS = "students";
+}
@@ -0,0 +1,50 @@
+package com.samsung.springtdd.configuration;
+
+import com.samsung.springtdd.controllers.ConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Caps concurrent registration requests below the connection pool size. With virtual threads
+ * ({@code spring.threads.virtual.enabled=true}) this is the only limit on how much work reaches MySQL.
+ * <p>
+ * The id generators fetch a new id block in a separate transaction while the request that triggered
+ * it still holds its own connection, and the write-behind flusher holds one more. Leaving two
+ * connections free keeps a block fetch from waiting on a pool that is drained by requests which are
+ * themselves waiting for that block.
+ */
+@Slf4j
+@Configuration
+public class ConcurrencyLimitConfig {
+    private static final int RESERVED_CONNECTIONS = 2;
+    // What Hikari uses when maximum-pool-size is not set, it reports -1 until the pool starts
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            DataSource dataSource,
+            Environment environment,
+            // Falls back to the name this had while the limit only applied to virtual threads
+            @Value("${registration.concurrency-limit.max-concurrent-requests:${registration.virtual-threads.max-concurrent-requests:0}}")
+            int maxConcurrentRequests) throws SQLException {
+        int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        int limit = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : Math.max(1, (poolSize > 0 ? poolSize : HIKARI_DEFAULT_POOL_SIZE) - RESERVED_CONNECTIONS);
+        log.info("Limiting registration requests to {} concurrent ({} threads)", limit,
+                environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) ? "virtual" : "platform");
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit));
+        registration.addUrlPatterns("/register", "/register/*", "/unregister/*");
+        return registration;
+    }
+}
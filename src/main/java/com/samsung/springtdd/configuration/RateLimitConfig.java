@@ -0,0 +1,32 @@
+package com.samsung.springtdd.configuration;
+
+import com.samsung.springtdd.controllers.RateLimitFilter;
+import com.samsung.springtdd.controllers.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-student rate limit on the registration endpoints ({@code registration.rate-limit.*}). Ordered ahead
+ * of the concurrency limit from {@link ConcurrencyLimitConfig}, so students over their limit never take
+ * one of its permits.
+ */
+@Configuration
+@ConditionalOnProperty(name = "registration.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${registration.rate-limit.requests-per-second:5}") double requestsPerSecond,
+            @Value("${registration.rate-limit.burst:10}") int burst) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(new RateLimiter(requestsPerSecond, burst), meterRegistry));
+        registration.addUrlPatterns("/register", "/register/*", "/unregister/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+}
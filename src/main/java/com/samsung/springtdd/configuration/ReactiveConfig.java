@@ -0,0 +1,96 @@
+package com.samsung.springtdd.configuration;
+
+import com.samsung.springtdd.loadtest.SimulatedLatencyConnectionFactory;
+import com.samsung.springtdd.models.repository.reactive.PooledIdGenerator;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+
+/**
+ * R2DBC access for the reactive profile ({@code registration.reactive.*}), which serves
+ * {@code POST /register} and {@code DELETE /unregister} on WebFlux, see {@code ReactiveRegistrationService}.
+ * <p>
+ * Neither the connection pool nor its transaction manager are beans: Spring Boot backs off its JDBC
+ * {@code DataSource} as soon as a {@link ConnectionFactory} bean exists, and its JPA transaction manager
+ * as soon as any other transaction manager does. Flyway, the JPA repositories and the in-memory indexes
+ * they fill keep working next to the reactive stack. R2DBC auto-configuration is excluded for the same
+ * reason. Spring Boot would serve WebFlux on Tomcat, which spring-boot-starter-web keeps on the classpath,
+ * so the Netty server factory is declared here.
+ */
+@Slf4j
+@Configuration
+@Profile("reactive")
+@EnableR2dbcRepositories(basePackages = "com.samsung.springtdd.models.repository.reactive",
+        entityOperationsRef = "reactiveEntityTemplate")
+public class ReactiveConfig implements DisposableBean {
+    // allocationSize of Registration's @TableGenerator
+    private static final int REGISTRATION_ID_BLOCK = 1000;
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public R2dbcEntityTemplate reactiveEntityTemplate(Environment environment,
+                                                      @Value("${registration.reactive.url}") String url,
+                                                      @Value("${registration.reactive.username:${spring.datasource.username:}}") String username,
+                                                      @Value("${registration.reactive.password:${spring.datasource.password:}}") String password,
+                                                      @Value("${registration.reactive.pool-size:20}") int poolSize,
+                                                      @Value("${registration.reactive.acquire-timeout:5s}") Duration acquireTimeout) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        // The same stand-in for the MySQL round trip that SimulatedLatencyPostProcessor adds to the JDBC pool
+        Duration latency = environment.getProperty("loadtest.jdbc-latency", Duration.class, Duration.ZERO);
+        if (environment.matchesProfiles("loadtest") && !latency.isZero()) {
+            connectionFactory = new SimulatedLatencyConnectionFactory(connectionFactory, latency);
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive")
+                .initialSize(Math.min(poolSize, 10))
+                .maxSize(poolSize)
+                .maxAcquireTime(acquireTimeout)
+                .build());
+        log.info("Serving registrations on R2DBC, pool of {} connections", poolSize);
+        return new R2dbcEntityTemplate(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(@Qualifier("reactiveEntityTemplate") R2dbcEntityTemplate template) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(template.getDatabaseClient().getConnectionFactory()));
+    }
+
+    @Bean
+    public PooledIdGenerator registrationIdGenerator(@Qualifier("reactiveEntityTemplate") R2dbcEntityTemplate template,
+                                                     @Qualifier("reactiveTransactionalOperator") TransactionalOperator transactionalOperator) {
+        return new PooledIdGenerator(template.getDatabaseClient(), transactionalOperator, "registrations", REGISTRATION_ID_BLOCK);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
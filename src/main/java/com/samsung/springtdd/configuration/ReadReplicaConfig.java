@@ -0,0 +1,65 @@
+package com.samsung.springtdd.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a replica pool and everything else to the
+ * primary, when {@code registration.replica.url} is set. Without it the single auto-configured pool is used.
+ * <p>
+ * The transaction manager marks the connection read-only before the first statement, and
+ * {@link LazyConnectionDataSourceProxy} only picks the pool at that statement. Spring Data repository
+ * reads outside a transaction are read-only too and go to the replica. Reads inside a read-write
+ * transaction, such as the context query of {@code RegistrationService.register} whose upcoming
+ * courses are returned right after the insert, stay on the primary and see the transaction's own writes.
+ * Flyway migrates the primary only, the replica gets the schema through replication.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty("registration.replica.url")
+public class ReadReplicaConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("registration.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${registration.replica.url}") String url,
+                                              @Value("${registration.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${registration.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        log.info("Routing read-only transactions to the replica pool");
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replica);
+        return routing;
+    }
+}
@@ -0,0 +1,19 @@
+package com.samsung.springtdd.configuration;
+
+import com.samsung.springtdd.controllers.RegistrationController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With {@code spring.main.lazy-initialization=true} (fast-startup profile) the registration endpoints
+ * and everything they depend on are still created at startup, so the first registration after a
+ * scale-out doesn't pay for creating the persistence layer.
+ */
+@Configuration
+public class StartupConfig {
+    @Bean
+    public static LazyInitializationExcludeFilter eagerRegistrationPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(RegistrationController.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.services.BulkImportService;
+import com.samsung.springtdd.services.RegistrationExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@Profile("!reactive")
+public class BulkImportController {
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    /**
+     * Imports students, courses or registrations from the request body, in the same formats the
+     * exports write. The body is read as it arrives, not buffered.
+     */
+    @PostMapping("/import/{target}")
+    public ImportReport importRows(@PathVariable String target,
+                                   @RequestParam(defaultValue = "ndjson") String format,
+                                   InputStream body) throws IOException {
+        BulkImportService.Target importTarget = BulkImportService.Target.of(target);
+        RegistrationExportService.Format importFormat = RegistrationExportService.Format.of(format);
+        return bulkImportService.importRows(importTarget, importFormat, body);
+    }
+}
@@ -0,0 +1,57 @@
+package com.samsung.springtdd.controllers;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many requests run their database work at the same time. With virtual threads Tomcat no
+ * longer bounds concurrency, so without this every request would queue inside the connection pool
+ * and time out there. A request over the limit is turned away at once with a 429 and
+ * {@code Retry-After} rather than parked waiting for a slot, which would only move that queue here.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final int maxConcurrentRequests;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many concurrent requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrentRequests) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public int availablePermits() {
+        return maxConcurrentRequests - inFlight.get();
+    }
+}
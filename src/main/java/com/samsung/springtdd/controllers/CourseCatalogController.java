@@ -0,0 +1,36 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.CoursePage;
+import com.samsung.springtdd.models.DTO.CourseSearch;
+import com.samsung.springtdd.services.CourseCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@Profile("!reactive")
+public class CourseCatalogController {
+    @Autowired
+    private CourseCatalogService courseCatalogService;
+
+    @GetMapping("/courses")
+    public CoursePage courses(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                              @RequestParam(required = false) Long minPrice,
+                              @RequestParam(required = false) Long maxPrice,
+                              @RequestParam(required = false) String cursor,
+                              @RequestParam(defaultValue = "" + CourseCatalogService.DEFAULT_PAGE_SIZE) int size) {
+        CourseSearch search = CourseSearch.builder()
+                .from(from)
+                .to(to)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        return courseCatalogService.search(search, cursor, size);
+    }
+}
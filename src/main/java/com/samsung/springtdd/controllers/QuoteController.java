@@ -0,0 +1,24 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.DTO.QuoteRequest;
+import com.samsung.springtdd.services.PriceQuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+public class QuoteController {
+    @Autowired
+    private PriceQuoteService priceQuoteService;
+
+    @PostMapping("/quotes")
+    public List<PriceQuote> quote(@RequestBody QuoteRequest request) {
+        return priceQuoteService.quote(request.getEmail(), request.getCourseIds());
+    }
+}
@@ -0,0 +1,155 @@
+package com.samsung.springtdd.controllers;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Limits how often one student can call the registration endpoints. Runs before
+ * {@link ConcurrencyLimitFilter}, so a student over the limit gets a 429 with {@code Retry-After}
+ * without taking a permit or reaching the database.
+ * <p>
+ * The student is the email in the JSON body of {@code POST /register} and {@code /register/batch}, or
+ * the last path segment of {@code DELETE /unregister/{courseId}/{email}}. The body is read here and
+ * replayed to the controller. Requests without an email are let through, the controller rejects them.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final RateLimiter rateLimiter;
+    private final Counter rejected;
+
+    public RateLimitFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.rejected = Counter.builder("registration.rate_limited")
+                .description("Registration requests rejected because the student exceeded the rate limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String email;
+        if ("POST".equals(request.getMethod())) {
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            request = cached;
+            email = emailInBody(cached.body);
+        } else {
+            email = emailInPath(request);
+        }
+
+        long waitNanos = email == null ? 0 : rateLimiter.tryAcquire(email.toLowerCase(Locale.ROOT));
+        if (waitNanos > 0) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests for this student");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String emailInBody(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            // Malformed JSON, the controller answers it with 400
+            return null;
+        }
+    }
+
+    private static String emailInPath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/unregister/")) {
+            return null;
+        }
+        String email = path.substring(path.lastIndexOf('/') + 1);
+        return email.isEmpty() ? null : UriUtils.decode(email, StandardCharsets.UTF_8);
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it is available and then fully read right away
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
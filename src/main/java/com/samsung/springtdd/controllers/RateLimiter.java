@@ -0,0 +1,57 @@
+package com.samsung.springtdd.controllers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets by key, {@code burst} requests at once refilled at {@code requestsPerSecond}.
+ * <p>
+ * A bucket is a single timestamp, the time at which it would be full again if no tokens were left
+ * over (the generic cell rate algorithm). Taking a token is one compare-and-set on that timestamp, so
+ * requests for the same key never block each other. Buckets that have been idle long enough to refill
+ * completely are dropped, a new one behaves the same.
+ */
+public class RateLimiter {
+    private static final long MAX_BUCKETS = 1_000_000;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and burst");
+        }
+        this.intervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_BUCKETS)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos + intervalNanos))
+                .build();
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long full = bucket.get();
+            long start = Math.max(full, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.services.ReactiveRegistrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The registration endpoints of {@link RegistrationController} on WebFlux, for the reactive profile.
+ * Idempotency keys, write-behind, batches and the per-student rate limit are servlet-only.
+ */
+@RestController
+@Profile("reactive")
+public class ReactiveRegistrationController {
+    @Autowired
+    private ReactiveRegistrationService registrationService;
+
+    @PostMapping("/register")
+    public Mono<List<CourseSummary>> register(@RequestBody RegistrationRequest request) {
+        return registrationService.register(request.getEmail(), request.getCourseId());
+    }
+
+    @DeleteMapping("/unregister/{courseId}/{email}")
+    public Mono<ResponseEntity<Void>> unregister(@PathVariable Long courseId, @PathVariable String email) {
+        return registrationService.unregister(courseId, email).thenReturn(ResponseEntity.noContent().build());
+    }
+}
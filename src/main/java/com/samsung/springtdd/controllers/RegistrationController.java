@@ -1,23 +1,54 @@
 package com.samsung.springtdd.controllers;
 
-import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationRequest;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
 import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
+import com.samsung.springtdd.services.IdempotencyStore;
 import com.samsung.springtdd.services.RegistrationService;
 import jakarta.websocket.server.PathParam;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 public class RegistrationController {
     @Autowired
     private RegistrationService registrationService;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Value("${registration.write-behind.enabled:false}")
+    private boolean writeBehind;
+
     @PostMapping("/register")
-    public List<Course> register(@RequestBody RegistrationRequest request) {
-        return registrationService.register(request.getEmail(), request.getCourseId());
+    public ResponseEntity<?> register(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                      @RequestBody RegistrationRequest request) {
+        // A retry with the same key gets the first response back without reaching the database
+        String fingerprint = request.getEmail() + ":" + request.getCourseId();
+        if (writeBehind) {
+            // 202 with a ticket, poll /register/tickets/{ticketId} until the flusher has saved it
+            return ResponseEntity.accepted().body(idempotencyStore.execute(idempotencyKey, fingerprint,
+                    () -> registrationService.registerAsync(request.getEmail(), request.getCourseId())));
+        }
+        return ResponseEntity.ok(idempotencyStore.execute(idempotencyKey, fingerprint,
+                () -> registrationService.register(request.getEmail(), request.getCourseId())));
+    }
+
+    @GetMapping("/register/tickets/{ticketId}")
+    public ResponseEntity<RegistrationTicket> ticket(@PathVariable String ticketId) {
+        return ResponseEntity.of(registrationService.findTicket(ticketId));
+    }
+
+    @PostMapping("/register/batch")
+    public List<BatchRegistrationResult> registerBatch(@RequestBody BatchRegistrationRequest request) {
+        return registrationService.registerBatch(request.getEmail(), request.getCourseIds());
     }
 
     @DeleteMapping("/unregister/{courseId}/{email}")
@@ -0,0 +1,38 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.services.RegistrationExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@Profile("!reactive")
+public class RegistrationExportController {
+    @Autowired
+    private RegistrationExportService registrationExportService;
+
+    @GetMapping("/courses/{courseId}/registrations")
+    public ResponseEntity<StreamingResponseBody> roster(@PathVariable Long courseId,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        RegistrationExportService.Format exportFormat = RegistrationExportService.Format.of(format);
+        registrationExportService.requireCourse(courseId);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(out -> registrationExportService.writeRoster(courseId, exportFormat, out));
+    }
+
+    @GetMapping("/students/{email}/registrations")
+    public ResponseEntity<StreamingResponseBody> schedule(@PathVariable String email,
+                                                          @RequestParam(defaultValue = "ndjson") String format) {
+        RegistrationExportService.Format exportFormat = RegistrationExportService.Format.of(format);
+        registrationExportService.requireStudent(email);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(out -> registrationExportService.writeSchedule(email, exportFormat, out));
+    }
+}
@@ -0,0 +1,44 @@
+package com.samsung.springtdd.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects raw latencies of one operation type. Every worker thread owns its own recorder, they are
+ * merged once the run is over, so recording never contends.
+ */
+public class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int size;
+
+    public void record(long nanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+    }
+
+    public void addAll(LatencyRecorder other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.latencies[i]);
+        }
+    }
+
+    public int count() {
+        return size;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency in nanoseconds, 0 when nothing was recorded
+     */
+    public long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        // Nearest rank; the epsilon keeps e.g. 99.9% of 1000 samples at rank 999 despite rounding
+        int index = (int) Math.ceil(percentile * size / 100.0 - 1e-9) - 1;
+        return sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+}
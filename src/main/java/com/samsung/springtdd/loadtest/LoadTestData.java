@@ -0,0 +1,9 @@
+package com.samsung.springtdd.loadtest;
+
+import java.util.List;
+
+/**
+ * Identifiers of the seeded students and courses the workload picks from.
+ */
+public record LoadTestData(List<String> emails, List<String> abusiveEmails, List<Long> upcomingCourseIds, List<Long> startedCourseIds) {
+}
@@ -0,0 +1,29 @@
+package com.samsung.springtdd.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+    private int students = 1000;
+    private int courses = 200;
+    private int startedCourses = 20;
+    private int threads = 32;
+    private int requests = 20000;
+    private int warmupRequests = 2000;
+    private int registerWeight = 50;
+    private int duplicateWeight = 15;
+    private int startedWeight = 10;
+    private int unregisterWeight = 25;
+    // Clients registering a few students on a fixed schedule alongside the workload, 0 disables them
+    private int abusiveThreads = 0;
+    private int abusiveStudents = 10;
+    // Requests per second each abusive client sends, whatever the responses are
+    private int abusiveRate = 20;
+    private boolean exitWhenDone = true;
+    // Added to every statement and commit, see SimulatedLatencyDataSource
+    private Duration jdbcLatency = Duration.ZERO;
+}
@@ -0,0 +1,68 @@
+package com.samsung.springtdd.loadtest;
+
+import java.util.Map;
+
+public class LoadTestReport {
+    private final int threads;
+    private final long elapsedNanos;
+    private final Map<LoadTestWorkload.Operation, LatencyRecorder> latencies;
+    private final long unexpectedResponses;
+    private double statementsPerRequest = Double.NaN;
+    private long abusiveRequests;
+    private long abusiveRateLimited;
+
+    public LoadTestReport(int threads, long elapsedNanos, Map<LoadTestWorkload.Operation, LatencyRecorder> latencies, long unexpectedResponses) {
+        this.threads = threads;
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = latencies;
+        this.unexpectedResponses = unexpectedResponses;
+    }
+
+    public long requests() {
+        return latencies.values().stream().mapToLong(LatencyRecorder::count).sum();
+    }
+
+    public double throughput() {
+        return requests() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public long unexpectedResponses() {
+        return unexpectedResponses;
+    }
+
+    public LatencyRecorder overall() {
+        LatencyRecorder overall = new LatencyRecorder();
+        latencies.values().forEach(overall::addAll);
+        return overall;
+    }
+
+    public void setStatementsPerRequest(double statementsPerRequest) {
+        this.statementsPerRequest = statementsPerRequest;
+    }
+
+    public void setAbusive(long requests, long rateLimited) {
+        this.abusiveRequests = requests;
+        this.abusiveRateLimited = rateLimited;
+    }
+
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d requests, %d threads, %.1f s, %.0f req/s, %d unexpected responses%n",
+                requests(), threads, elapsedNanos / 1_000_000_000.0, throughput(), unexpectedResponses));
+        report.append(String.format("%-11s %8s %9s %9s %9s%n", "operation", "count", "p50 ms", "p99 ms", "p999 ms"));
+        latencies.forEach((operation, recorder) -> appendRow(report, operation.name().toLowerCase(), recorder));
+        appendRow(report, "all", overall());
+        if (!Double.isNaN(statementsPerRequest)) {
+            report.append(String.format("SQL statements per request: %.2f%n", statementsPerRequest));
+        }
+        if (abusiveRequests > 0) {
+            report.append(String.format("abusive clients: %d requests, %d rejected with 429%n", abusiveRequests, abusiveRateLimited));
+        }
+        return report.toString();
+    }
+
+    private void appendRow(StringBuilder report, String name, LatencyRecorder recorder) {
+        report.append(String.format("%-11s %8d %9.2f %9.2f %9.2f%n", name, recorder.count(),
+                recorder.percentile(50) / 1_000_000.0, recorder.percentile(99) / 1_000_000.0, recorder.percentile(99.9) / 1_000_000.0));
+    }
+}
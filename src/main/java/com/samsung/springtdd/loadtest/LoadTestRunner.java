@@ -0,0 +1,110 @@
+package com.samsung.springtdd.loadtest;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the embedded database once the application is up, runs the configured workload against its
+ * own HTTP port and logs throughput, latency percentiles and SQL statements per request.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestRunner {
+    @Autowired
+    private LoadTestProperties properties;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private volatile LoadTestReport lastReport;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) throws Exception {
+        String baseUrl = "http://localhost:" + event.getApplicationContext().getEnvironment().getProperty("local.server.port");
+        LoadTestData data = seed();
+        LoadTestWorkload workload = new LoadTestWorkload(baseUrl, data, properties);
+
+        log.info("Warming up with {} requests", properties.getWarmupRequests());
+        workload.run(properties.getWarmupRequests());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        LoadTestReport report = workload.run(properties.getRequests());
+        report.setStatementsPerRequest((double) statistics.getPrepareStatementCount() / report.requests());
+        log.info("Load test finished on {} threads:\n{}",
+                event.getApplicationContext().getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                        ? "virtual" : "platform",
+                report.format());
+        lastReport = report;
+
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    public LoadTestReport getLastReport() {
+        return lastReport;
+    }
+
+    private LoadTestData seed() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < properties.getStudents(); i++) {
+            students.add(Student.builder().email("student" + i + "@loadtest.local").firstName("Load").lastName("Test " + i).build());
+        }
+        List<String> emails = studentRepository.saveAll(students).stream().map(Student::getEmail).toList();
+        List<Student> abusive = new ArrayList<>();
+        for (int i = 0; i < properties.getAbusiveStudents(); i++) {
+            abusive.add(Student.builder().email("bot" + i + "@loadtest.local").firstName("Bot").lastName("Test " + i).build());
+        }
+        List<String> abusiveEmails = studentRepository.saveAll(abusive).stream().map(Student::getEmail).toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Course> upcoming = new ArrayList<>();
+        for (int i = 0; i < properties.getCourses(); i++) {
+            upcoming.add(course("Upcoming " + i, now.plusDays(30).plusHours(i)));
+        }
+        List<Course> started = new ArrayList<>();
+        for (int i = 0; i < properties.getStartedCourses(); i++) {
+            started.add(course("Started " + i, now.minusDays(1).minusHours(i)));
+        }
+
+        log.info("Seeded {} students, {} upcoming and {} started courses", emails.size(), upcoming.size(), started.size());
+        return new LoadTestData(emails, abusiveEmails,
+                courseRepository.saveAll(upcoming).stream().map(Course::getId).toList(),
+                courseRepository.saveAll(started).stream().map(Course::getId).toList());
+    }
+
+    private Course course(String name, LocalDateTime startTime) {
+        return Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusDays(60))
+                .price(1000L)
+                .build();
+    }
+}
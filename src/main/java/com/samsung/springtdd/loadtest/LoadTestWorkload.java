@@ -0,0 +1,196 @@
+package com.samsung.springtdd.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a concurrent mix of registration requests against a running server over HTTP.
+ * <p>
+ * Each worker owns a disjoint slice of the students and remembers which courses it registered them
+ * for, so duplicates and unregisters can be aimed at existing registrations without sharing state
+ * between threads.
+ * <p>
+ * Abusive clients ({@code loadtest.abusive-threads}) send registrations for a few separate students
+ * at {@code loadtest.abusive-rate} each until the workers are done. They keep to that schedule
+ * instead of waiting for each response, so a fast 429 does not let them send more. They are not part of the report's latencies or
+ * throughput, only their request count and how many were rate limited.
+ */
+public class LoadTestWorkload {
+    public enum Operation {
+        REGISTER(200),
+        DUPLICATE(400),
+        STARTED(400),
+        UNREGISTER(204);
+
+        private final int expectedStatus;
+
+        Operation(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+    private final LoadTestData data;
+    private final LoadTestProperties properties;
+    // Per worker, kept across runs so a warmup's registrations are known to the measured run
+    private final List<Map<String, List<Long>>> registeredByWorker = new ArrayList<>();
+
+    public LoadTestWorkload(String baseUrl, LoadTestData data, LoadTestProperties properties) {
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.properties = properties;
+        for (int worker = 0; worker < properties.getThreads(); worker++) {
+            registeredByWorker.add(new HashMap<>());
+        }
+    }
+
+    public LoadTestReport run(int requests) throws Exception {
+        int threads = properties.getThreads();
+        AtomicLong unexpected = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads + properties.getAbusiveThreads());
+        AtomicBoolean done = new AtomicBoolean();
+        List<Future<long[]>> abusive = new ArrayList<>();
+        for (int client = 0; client < properties.getAbusiveThreads(); client++) {
+            abusive.add(executor.submit(() -> runAbusive(done)));
+        }
+        List<Future<Map<Operation, LatencyRecorder>>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int worker = 0; worker < threads; worker++) {
+            int workerId = worker;
+            int workerRequests = requests / threads + (worker < requests % threads ? 1 : 0);
+            futures.add(executor.submit(() -> runWorker(workerId, workerRequests, unexpected)));
+        }
+
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencyRecorder>> future : futures) {
+            future.get().forEach((operation, recorder) ->
+                    merged.computeIfAbsent(operation, key -> new LatencyRecorder()).addAll(recorder));
+        }
+        long elapsed = System.nanoTime() - start;
+        done.set(true);
+        long abusiveRequests = 0;
+        long abusiveRateLimited = 0;
+        for (Future<long[]> future : abusive) {
+            long[] counts = future.get();
+            abusiveRequests += counts[0];
+            abusiveRateLimited += counts[1];
+        }
+        executor.shutdown();
+        LoadTestReport report = new LoadTestReport(threads, elapsed, merged, unexpected.get());
+        report.setAbusive(abusiveRequests, abusiveRateLimited);
+        return report;
+    }
+
+    /**
+     * @return the number of requests sent and how many of them got 429
+     */
+    private long[] runAbusive(AtomicBoolean done) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intervalNanos = 1_000_000_000L / properties.getAbusiveRate();
+        long next = System.nanoTime() + random.nextLong(intervalNanos);
+        long requests = 0;
+        long rateLimited = 0;
+        while (!done.get()) {
+            LockSupport.parkNanos(next - System.nanoTime());
+            next += intervalNanos;
+            String email = data.abusiveEmails().get(random.nextInt(data.abusiveEmails().size()));
+            Long courseId = data.upcomingCourseIds().get(random.nextInt(data.upcomingCourseIds().size()));
+            if (send(register(email, courseId)) == 429) {
+                rateLimited++;
+            }
+            requests++;
+        }
+        return new long[]{requests, rateLimited};
+    }
+
+    private Map<Operation, LatencyRecorder> runWorker(int workerId, int requests, AtomicLong unexpected) throws Exception {
+        List<String> students = new ArrayList<>();
+        for (int i = workerId; i < data.emails().size(); i += properties.getThreads()) {
+            students.add(data.emails().get(i));
+        }
+        Map<String, List<Long>> registered = registeredByWorker.get(workerId);
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < requests; i++) {
+            String email = students.get(random.nextInt(students.size()));
+            List<Long> courses = registered.computeIfAbsent(email, key -> new ArrayList<>());
+            Operation operation = pickOperation(random, !courses.isEmpty());
+
+            HttpRequest request;
+            switch (operation) {
+                case REGISTER -> {
+                    Long courseId = data.upcomingCourseIds().get(random.nextInt(data.upcomingCourseIds().size()));
+                    if (courses.contains(courseId)) {
+                        operation = Operation.DUPLICATE;
+                    } else {
+                        courses.add(courseId);
+                    }
+                    request = register(email, courseId);
+                }
+                case DUPLICATE -> request = register(email, courses.get(random.nextInt(courses.size())));
+                case STARTED -> request = register(email, data.startedCourseIds().get(random.nextInt(data.startedCourseIds().size())));
+                default -> {
+                    Long courseId = courses.remove(random.nextInt(courses.size()));
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/unregister/" + courseId + "/" + email)).DELETE().build();
+                }
+            }
+
+            long start = System.nanoTime();
+            int status = send(request);
+            recorders.computeIfAbsent(operation, key -> new LatencyRecorder()).record(System.nanoTime() - start);
+            if (status != operation.expectedStatus) {
+                unexpected.incrementAndGet();
+            }
+        }
+        return recorders;
+    }
+
+    private Operation pickOperation(ThreadLocalRandom random, boolean hasRegistrations) {
+        int total = properties.getRegisterWeight() + properties.getDuplicateWeight()
+                + properties.getStartedWeight() + properties.getUnregisterWeight();
+        int roll = random.nextInt(total);
+        Operation operation;
+        if ((roll -= properties.getRegisterWeight()) < 0) {
+            operation = Operation.REGISTER;
+        } else if ((roll -= properties.getDuplicateWeight()) < 0) {
+            operation = Operation.DUPLICATE;
+        } else if (roll - properties.getStartedWeight() < 0) {
+            operation = Operation.STARTED;
+        } else {
+            operation = Operation.UNREGISTER;
+        }
+        if (!hasRegistrations && (operation == Operation.DUPLICATE || operation == Operation.UNREGISTER)) {
+            return Operation.REGISTER;
+        }
+        return operation;
+    }
+
+    private HttpRequest register(String email, Long courseId) {
+        String body = "{\"email\":\"" + email + "\",\"courseId\":" + courseId + "}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,78 @@
+package com.samsung.springtdd.loadtest;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * The R2DBC counterpart of {@link SimulatedLatencyDataSource}: every statement execution and commit
+ * is delayed by a timer while the pooled connection is held, without occupying a thread. A batch of
+ * bindings on one statement costs a single round trip.
+ * <p>
+ * r2dbc-h2 runs statements on the subscribing thread and blocks on row locks. The delayed work
+ * continues on {@link Schedulers#boundedElastic()} so a lock wait holds up one worker instead of the
+ * timer thread every other connection is waiting on.
+ */
+public class SimulatedLatencyConnectionFactory implements ConnectionFactory {
+    private static final Set<String> ROUND_TRIPS = Set.of("commitTransaction", "rollbackTransaction");
+
+    private final ConnectionFactory delegate;
+    private final Duration latency;
+
+    public SimulatedLatencyConnectionFactory(ConnectionFactory delegate, Duration latency) {
+        this.delegate = delegate;
+        this.latency = latency;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.from(delegate.create()).map(this::withLatency);
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    private Connection withLatency(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(method, connection, args);
+                    if (ROUND_TRIPS.contains(method.getName())) {
+                        return Mono.delay(latency, Schedulers.boundedElastic()).thenMany((Publisher<?>) result);
+                    }
+                    return method.getName().equals("createStatement") ? withLatency((Statement) result) : result;
+                });
+    }
+
+    private Statement withLatency(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(method, statement, args);
+                    if (method.getName().equals("execute")) {
+                        return Mono.delay(latency, Schedulers.boundedElastic()).thenMany(Flux.from((Publisher<?>) result));
+                    }
+                    // bind, add, returnGeneratedValues and fetchSize return the statement for chaining
+                    return result == statement ? proxy : result;
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.samsung.springtdd.loadtest;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Adds a fixed delay to every statement execution and commit, standing in for the network round trip
+ * to MySQL that the embedded H2 database doesn't have. The delay is taken while the pooled connection
+ * is held, like a real round trip. Preparing a statement is free, as with Connector/J's default
+ * client-side prepared statements, and a JDBC batch costs a single round trip.
+ */
+public class SimulatedLatencyDataSource extends DelegatingDataSource {
+    private static final Set<String> ROUND_TRIPS = Set.of("commit", "rollback");
+    private static final Set<String> STATEMENTS = Set.of("prepareStatement", "createStatement", "prepareCall");
+
+    private final long latencyNanos;
+
+    public SimulatedLatencyDataSource(DataSource targetDataSource, Duration latency) {
+        super(targetDataSource);
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withLatency(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withLatency(super.getConnection(username, password));
+    }
+
+    private Connection withLatency(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (ROUND_TRIPS.contains(method.getName())) {
+                        LockSupport.parkNanos(latencyNanos);
+                    }
+                    Object result = invoke(method, connection, args);
+                    return STATEMENTS.contains(method.getName()) ? withLatency((Statement) result, method.getReturnType()) : result;
+                });
+    }
+
+    private Statement withLatency(Statement statement, Class<?> type) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        LockSupport.parkNanos(latencyNanos);
+                    }
+                    return invoke(method, statement, args);
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
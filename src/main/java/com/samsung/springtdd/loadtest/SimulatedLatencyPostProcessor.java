@@ -0,0 +1,35 @@
+package com.samsung.springtdd.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the pooled {@link DataSource} in a {@link SimulatedLatencyDataSource} when
+ * {@code loadtest.jdbc-latency} is set. Data sources that only delegate to a pool, like the read/write
+ * routing of {@code ReadReplicaConfig}, are left alone so a statement is delayed once.
+ */
+@Component
+@Profile("loadtest")
+public class SimulatedLatencyPostProcessor implements BeanPostProcessor, EnvironmentAware {
+    private Duration latency = Duration.ZERO;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        latency = environment.getProperty("loadtest.jdbc-latency", Duration.class, Duration.ZERO);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource) && !latency.isZero()) {
+            return new SimulatedLatencyDataSource(dataSource, latency);
+        }
+        return bean;
+    }
+}
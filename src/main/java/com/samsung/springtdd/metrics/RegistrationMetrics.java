@@ -0,0 +1,94 @@
+package com.samsung.springtdd.metrics;
+
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.services.RegistrationRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the registration flows: {@code registration.step} per database step and
+ * {@code registration.requests} per call, tagged with its outcome. Timers are resolved once and
+ * cached, so recording costs a map lookup and two {@code nanoTime} calls.
+ */
+@Component
+public class RegistrationMetrics {
+    public static final String REGISTER = "register";
+    public static final String REGISTER_ASYNC = "register_async";
+    public static final String REGISTER_BATCH = "register_batch";
+    public static final String UNREGISTER = "unregister";
+
+    private static final String SUCCESS = "success";
+    private static final String OTHER = "other";
+    private static final String CONFLICT = "conflict";
+
+    // Outcome tags must stay a closed set, never the raw exception message
+    private static final Map<ErrorCode, String> REJECTION_REASONS = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode code : ErrorCode.values()) {
+            REJECTION_REASONS.put(code, code.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RegistrationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T step(String operation, String step, Supplier<T> action) {
+        Timer timer = timers.computeIfAbsent("step:" + operation + ":" + step, key -> Timer.builder("registration.step")
+                .description("Time spent in one step of a registration flow")
+                .tag("operation", operation)
+                .tag("step", step)
+                .register(meterRegistry));
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void step(String operation, String step, Runnable action) {
+        step(operation, step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void success(String operation, long startNanos) {
+        record(operation, SUCCESS, startNanos);
+    }
+
+    public void rejected(String operation, long startNanos, IllegalArgumentException rejection) {
+        record(operation, rejection instanceof RegistrationRejectedException rejected
+                ? REJECTION_REASONS.get(rejected.getCode())
+                : OTHER, startNanos);
+    }
+
+    /**
+     * Still conflicting with concurrent writes after every retry.
+     */
+    public void conflict(String operation, long startNanos) {
+        record(operation, CONFLICT, startNanos);
+    }
+
+    private void record(String operation, String outcome, long startNanos) {
+        Timer timer = timers.computeIfAbsent("request:" + operation + ":" + outcome, key -> Timer.builder("registration.requests")
+                .description("Registration calls by outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
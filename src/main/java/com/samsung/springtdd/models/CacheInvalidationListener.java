@@ -0,0 +1,64 @@
+package com.samsung.springtdd.models;
+
+import com.samsung.springtdd.configuration.CacheConfig;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts cached {@link Course} and {@link Student} lookups whenever Hibernate writes those entities.
+ * JPQL bulk statements bypass entity callbacks and have to evict on their own.
+ * <p>
+ * The callbacks run before the transaction commits, so a concurrent reader can still cache the old
+ * row after this eviction. The entry is evicted once more after the commit.
+ */
+public class CacheInvalidationListener {
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(Object entity) {
+        if (cacheManager == null) {
+            return;
+        }
+        Runnable eviction;
+        if (entity instanceof Course course) {
+            eviction = () -> evict(CacheConfig.COURSES, course.getId());
+        } else if (entity instanceof Student) {
+            // Email is the cache key and may have changed, so the old key is unknown
+            eviction = () -> clear(CacheConfig.STUDENTS);
+        } else {
+            return;
+        }
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
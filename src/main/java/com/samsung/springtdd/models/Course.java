@@ -11,9 +11,12 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "courses")
+@EntityListeners({CacheInvalidationListener.class, CourseLifecycleListener.class})
 public class Course {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "courses_id")
+    @TableGenerator(name = "courses_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "courses", allocationSize = 100)
     private Long id;
 
     @Column(name = "Name")
@@ -27,4 +30,17 @@ public class Course {
 
     @Column(name = "Price")
     private Long price;
-}
\ No newline at end of file
+
+    // null means the course has no seat limit
+    @Column(name = "Capacity")
+    private Integer capacity;
+
+    @Column(name = "SeatsTaken")
+    @Builder.Default
+    private int seatsTaken = 0;
+
+    // Also bumped by the seat updates in CourseRepository, so a stale Course can't overwrite seatsTaken
+    @Version
+    @Column(name = "Version")
+    private Long version;
+}
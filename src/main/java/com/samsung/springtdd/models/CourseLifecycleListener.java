@@ -0,0 +1,39 @@
+package com.samsung.springtdd.models;
+
+import com.samsung.springtdd.services.CourseLifecycleTracker;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Passes course writes on to the {@link CourseLifecycleTracker}, which applies them after commit.
+ * JPQL bulk statements bypass entity callbacks, the seat updates don't touch the time window.
+ */
+public class CourseLifecycleListener {
+    // Looked up on use: the tracker reads courses through the EntityManagerFactory that creates this listener
+    @Autowired(required = false)
+    private ObjectProvider<CourseLifecycleTracker> courseLifecycleTracker;
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Course course) {
+        CourseLifecycleTracker tracker = tracker();
+        if (tracker != null) {
+            tracker.saved(course);
+        }
+    }
+
+    @PostRemove
+    public void removed(Course course) {
+        CourseLifecycleTracker tracker = tracker();
+        if (tracker != null) {
+            tracker.removed(course.getId());
+        }
+    }
+
+    private CourseLifecycleTracker tracker() {
+        return courseLifecycleTracker == null ? null : courseLifecycleTracker.getIfAvailable();
+    }
+}
@@ -0,0 +1,26 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchRegistrationResult {
+    public enum Status {
+        REGISTERED,
+        COURSE_NOT_FOUND,
+        COURSE_STARTED,
+        COURSE_FULL,
+        ALREADY_REGISTERED,
+        COURSE_OVERLAPS
+    }
+
+    private Long courseId;
+    private Status status;
+    private Long price;
+    private String message;
+}
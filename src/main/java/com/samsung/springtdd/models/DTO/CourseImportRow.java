@@ -0,0 +1,18 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportRow {
+    private String name;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long price;
+    private Integer capacity;
+}
@@ -0,0 +1,19 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of {@code GET /courses}. Pass {@code nextCursor} back as {@code cursor} for the following
+ * page, it is {@code null} on the last one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePage {
+    private List<CourseSummary> courses;
+    private String nextCursor;
+}
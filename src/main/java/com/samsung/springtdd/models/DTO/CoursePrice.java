@@ -0,0 +1,19 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id, list price and start time of a course, without the rest of the entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePrice {
+    private Long id;
+    private Long price;
+    private LocalDateTime startTime;
+}
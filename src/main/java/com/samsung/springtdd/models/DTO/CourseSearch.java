@@ -0,0 +1,23 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalog filters, {@code null} leaves a bound open. Courses starting at or after {@code from} and
+ * ending at or before {@code to}, priced between {@code minPrice} and {@code maxPrice} inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseSearch {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long minPrice;
+    private Long maxPrice;
+}
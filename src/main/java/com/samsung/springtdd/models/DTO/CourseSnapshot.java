@@ -0,0 +1,12 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a course that only change when the course itself is edited, read as plain columns.
+ * This is what the course lookup cache holds: one instance is shared by every caller, so it is
+ * immutable and carries no seat count.
+ */
+public record CourseSnapshot(Long id, String name, LocalDateTime startTime, LocalDateTime endTime, Long price,
+                             Integer capacity) {
+}
@@ -0,0 +1,22 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A course in the {@code POST /register} response and the {@code GET /courses} catalog, read as plain
+ * columns instead of a managed {@code Course} entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSummary {
+    private Long id;
+    private String name;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long price;
+}
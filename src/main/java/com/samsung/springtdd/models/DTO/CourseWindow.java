@@ -0,0 +1,19 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Start and end of a course, without the rest of the entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseWindow {
+    private Long id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,32 @@
+package com.samsung.springtdd.models.DTO;
+
+/**
+ * Stable codes of {@link ErrorResponse}. Clients branch on these, the messages may change.
+ */
+public enum ErrorCode {
+    STUDENT_NOT_FOUND("Student not found"),
+    COURSE_NOT_FOUND("Course not found"),
+    COURSE_STARTED("Course has already started"),
+    ALREADY_REGISTERED("Already registered for this course"),
+    COURSE_FULL("Course is full"),
+    COURSE_OVERLAPS("Course overlaps another registered course"),
+    REGISTRATION_NOT_FOUND("Registration not found"),
+    NO_COURSES("No courses to register"),
+    NO_COURSES_TO_QUOTE("No courses to quote"),
+    INVALID_IDEMPOTENCY_KEY("Invalid idempotency key"),
+    IDEMPOTENCY_KEY_REUSED("Idempotency key was used for a different request"),
+    INVALID_REQUEST("Invalid request"),
+    INVALID_CURSOR("Invalid page cursor"),
+    REGISTRATION_CONFLICT("Registration conflicted with concurrent changes, retry later"),
+    QUEUE_FULL("Registration queue is full, retry later");
+
+    private final String message;
+
+    ErrorCode(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
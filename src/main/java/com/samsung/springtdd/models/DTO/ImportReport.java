@@ -0,0 +1,33 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReport {
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based position of the row in the input, not counting a CSV header
+        private long row;
+        private String message;
+    }
+
+    private long rows;
+    private long imported;
+    private long failed;
+    // false when malformed input stopped the import, rows before it are still imported
+    private boolean complete;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    // Only the first registration.import.max-reported-errors errors are listed
+    private List<RowError> errors;
+}
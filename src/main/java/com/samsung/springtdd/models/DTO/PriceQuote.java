@@ -0,0 +1,29 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One course of a {@code POST /quotes} response: the list price and what the student would pay
+ * registering now.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceQuote {
+    public enum Status {
+        QUOTED,
+        COURSE_NOT_FOUND,
+        COURSE_STARTED
+    }
+
+    private Long courseId;
+    private Status status;
+    private Long listPrice;
+    private Long price;
+    private boolean discounted;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.util.List;
+
+public class QuoteRequest {
+    private String email;
+    private List<Long> courseIds;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+}
@@ -0,0 +1,21 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A historical registration. Price defaults to the course price and the registration date to the
+ * time of the import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationImportRow {
+    private String email;
+    private Long courseId;
+    private Long price;
+    private LocalDateTime registeredDate;
+}
@@ -0,0 +1,28 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RegistrationTicket {
+    public enum Status {
+        QUEUED,
+        REGISTERED,
+        FAILED
+    }
+
+    private String ticketId;
+    private String email;
+    private Long courseId;
+    private Long price;
+    private LocalDateTime registeredDate;
+    private Status status;
+    private String message;
+}
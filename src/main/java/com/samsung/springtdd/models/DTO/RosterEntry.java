@@ -0,0 +1,20 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntry {
+    private Long registrationId;
+    private Long studentId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private Long price;
+    private LocalDateTime registeredDate;
+}
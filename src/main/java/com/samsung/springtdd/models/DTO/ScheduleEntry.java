@@ -0,0 +1,20 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleEntry {
+    private Long registrationId;
+    private Long courseId;
+    private String courseName;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long price;
+    private LocalDateTime registeredDate;
+}
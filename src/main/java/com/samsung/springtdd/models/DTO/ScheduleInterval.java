@@ -0,0 +1,20 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time range of a course a student is registered for.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleInterval {
+    private Long studentId;
+    private Long courseId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
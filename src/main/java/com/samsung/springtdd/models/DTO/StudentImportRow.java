@@ -0,0 +1,14 @@
+package com.samsung.springtdd.models.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportRow {
+    private String email;
+    private String firstName;
+    private String lastName;
+}
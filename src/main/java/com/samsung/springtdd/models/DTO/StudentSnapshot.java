@@ -0,0 +1,8 @@
+package com.samsung.springtdd.models.DTO;
+
+/**
+ * A student read as plain columns. This is what the student lookup cache holds: one instance is
+ * shared by every caller, so it is immutable, unlike the {@code Student} entity.
+ */
+public record StudentSnapshot(Long id, String email, String firstName, String lastName) {
+}
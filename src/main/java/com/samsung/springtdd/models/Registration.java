@@ -13,10 +13,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "registrations")
+@Table(name = "registrations", uniqueConstraints = @UniqueConstraint(name = "uk_registrations_student_course", columnNames = {"StudentId", "CourseId"}))
 public class Registration {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "registrations_id")
+    @TableGenerator(name = "registrations_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "registrations", allocationSize = 1000)
     private Long id;
 
     @ManyToOne
@@ -33,6 +35,10 @@ public class Registration {
     @Column(name = "RegisteredDate")
     private LocalDateTime registeredDate;
 
+    @Version
+    @Column(name = "Version")
+    private Long version;
+
     public Registration(Student student, Course course, long price, LocalDateTime registeredDate) {
         this.student = student;
         this.course = course;
@@ -12,9 +12,12 @@ import lombok.NoArgsConstructor;
 @Builder
 @Entity
 @Table(name = "students")
+@EntityListeners(CacheInvalidationListener.class)
 public class Student {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "students_id")
+    @TableGenerator(name = "students_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "students", allocationSize = 100)
     private Long id;
 
     @Column(name = "Email")
@@ -0,0 +1,40 @@
+package com.samsung.springtdd.models.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * The {@code courses} row as read by the reactive stack, see {@link com.samsung.springtdd.models.Course}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("courses")
+public class ReactiveCourse {
+    @Id
+    private Long id;
+
+    private String name;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private Long price;
+
+    // null means the course has no seat limit
+    private Integer capacity;
+
+    private int seatsTaken;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,40 @@
+package com.samsung.springtdd.models.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * The {@code registrations} row as written by the reactive stack, see
+ * {@link com.samsung.springtdd.models.Registration}. Student and course are plain ids, there are no
+ * associations to load.
+ * <p>
+ * The id is assigned before saving, from the same block table as Hibernate's. A null version marks
+ * the row as new, so {@code save} inserts it despite the id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("registrations")
+public class ReactiveRegistration {
+    @Id
+    private Long id;
+
+    private Long studentId;
+
+    private Long courseId;
+
+    private Long price;
+
+    private LocalDateTime registeredDate;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,27 @@
+package com.samsung.springtdd.models.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * The {@code students} row as read by the reactive stack, see {@link com.samsung.springtdd.models.Student}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("students")
+public class ReactiveStudent {
+    @Id
+    private Long id;
+
+    private String email;
+
+    private String firstName;
+
+    private String lastName;
+}
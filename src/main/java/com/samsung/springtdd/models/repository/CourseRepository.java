@@ -1,7 +1,75 @@
 package com.samsung.springtdd.models.repository;
 
+import com.samsung.springtdd.configuration.CacheConfig;
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CoursePrice;
+import com.samsung.springtdd.models.DTO.CourseSnapshot;
+import com.samsung.springtdd.models.DTO.CourseWindow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
+    /**
+     * Cached by id. The cache holds snapshots rather than {@link Course} entities, which are mutable and
+     * would be shared detached across transactions; {@code findById} reads the entity itself.
+     */
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#p0", unless = "#result == null")
+    @Query("SELECT new com.samsung.springtdd.models.DTO.CourseSnapshot(c.id, c.name, c.startTime, c.endTime, c.price, c.capacity) " +
+            "FROM Course c WHERE c.id = :id")
+    Optional<CourseSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Takes one seat if the course still has one. The row lock of this conditional update is the
+     * only thing that serializes competing requests, and only for the same course.
+     *
+     * @return 1 if a seat was taken, 0 if the course is full or does not exist
+     */
+    @Modifying
+    @Query("UPDATE Course c SET c.seatsTaken = c.seatsTaken + 1, c.version = c.version + 1 " +
+            "WHERE c.id = :id AND (c.capacity IS NULL OR c.seatsTaken < c.capacity)")
+    int reserveSeat(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.seatsTaken = c.seatsTaken - 1, c.version = c.version + 1 WHERE c.id = :id AND c.seatsTaken > 0")
+    int releaseSeat(@Param("id") Long id);
+
+    /**
+     * List prices and start times of the given courses in one query, past the per-id course cache. Unknown ids are left out.
+     */
+    @Query("SELECT new com.samsung.springtdd.models.DTO.CoursePrice(c.id, c.price, c.startTime) FROM Course c WHERE c.id IN :ids")
+    List<CoursePrice> findPrices(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Time window of every course, for the lifecycle tracker. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RegistrationRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.samsung.springtdd.models.DTO.CourseWindow(c.id, c.startTime, c.endTime) FROM Course c")
+    Stream<CourseWindow> streamCourseWindows();
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true)
+    void deleteAllInBatch();
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true)
+    void deleteAllInBatch(Iterable<Course> courses);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> ids);
 }
@@ -0,0 +1,26 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.DTO.CourseSearch;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface CourseRepositoryCustom {
+    /**
+     * Takes seats in several courses with one JDBC batch of conditional updates, all or nothing per
+     * course.
+     *
+     * @return ids of the courses that did not have enough seats left
+     */
+    Set<Long> reserveSeats(Map<Long, Integer> seatsByCourse);
+
+    /**
+     * Courses matching {@code search} in (start time, id) order that come after the given course, or
+     * from the first one when {@code afterStartTime} is {@code null}. Seeks into
+     * {@code idx_courses_start_id} instead of skipping rows, so a page costs the same wherever it is.
+     */
+    List<CourseSummary> findCatalogPage(CourseSearch search, LocalDateTime afterStartTime, Long afterId, int limit);
+}
@@ -0,0 +1,89 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.DTO.CourseSearch;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+    private static final String RESERVE_SEATS = "UPDATE courses SET seats_taken = seats_taken + ?, version = version + 1 " +
+            "WHERE id = ? AND (capacity IS NULL OR seats_taken + ? <= capacity)";
+    private static final String CATALOG_PAGE = "SELECT new com.samsung.springtdd.models.DTO.CourseSummary(" +
+            "c.id, c.name, c.startTime, c.endTime, c.price) FROM Course c";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Set<Long> reserveSeats(Map<Long, Integer> seatsByCourse) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(seatsByCourse.entrySet());
+        // Same lock order for every caller
+        entries.sort(Map.Entry.comparingByKey());
+        int[][] counts = jdbcTemplate.batchUpdate(RESERVE_SEATS, entries, entries.size(), (statement, entry) -> {
+            statement.setInt(1, entry.getValue());
+            statement.setLong(2, entry.getKey());
+            statement.setInt(3, entry.getValue());
+        });
+
+        Set<Long> failed = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            // Drivers may answer SUCCESS_NO_INFO (-2) for a rewritten batch, only 0 means no seat
+            if (counts[0][i] == 0) {
+                failed.add(entries.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public List<CourseSummary> findCatalogPage(CourseSearch search, LocalDateTime afterStartTime, Long afterId, int limit) {
+        // Only the filters that are set, an "(:p IS NULL OR ...)" predicate can keep the database from seeking
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (search.getFrom() != null) {
+            predicates.add("c.startTime >= :from");
+            parameters.put("from", search.getFrom());
+        }
+        if (search.getTo() != null) {
+            predicates.add("c.endTime <= :to");
+            parameters.put("to", search.getTo());
+        }
+        if (search.getMinPrice() != null) {
+            predicates.add("c.price >= :minPrice");
+            parameters.put("minPrice", search.getMinPrice());
+        }
+        if (search.getMaxPrice() != null) {
+            predicates.add("c.price <= :maxPrice");
+            parameters.put("maxPrice", search.getMaxPrice());
+        }
+        if (afterStartTime != null) {
+            // (startTime, id) > (:afterStartTime, :afterId), with the leading range spelled out so every
+            // optimizer turns it into an index seek
+            predicates.add("c.startTime >= :afterStartTime AND (c.startTime > :afterStartTime OR c.id > :afterId)");
+            parameters.put("afterStartTime", afterStartTime);
+            parameters.put("afterId", afterId);
+        }
+
+        String jpql = CATALOG_PAGE
+                + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates))
+                + " ORDER BY c.startTime, c.id";
+        TypedQuery<CourseSummary> query = entityManager.createQuery(jpql, CourseSummary.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.DTO.CourseSummary;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything {@code register} needs to decide on a registration, read in a single query.
+ * One row is returned per upcoming course the student is already registered for (at least one row
+ * when the student exists); the course and counter columns repeat on every row. The upcoming course
+ * comes as columns too, so the query hydrates no entities.
+ */
+public interface RegistrationContext {
+    Long getStudentId();
+
+    Long getCourseId();
+
+    String getCourseName();
+
+    LocalDateTime getCourseStartTime();
+
+    LocalDateTime getCourseEndTime();
+
+    Long getCoursePrice();
+
+    Integer getCourseCapacity();
+
+    Integer getCourseSeatsTaken();
+
+    Long getCourseVersion();
+
+    Boolean getAlreadyRegistered();
+
+    Long getUpcomingCourseId();
+
+    String getUpcomingCourseName();
+
+    LocalDateTime getUpcomingCourseStartTime();
+
+    LocalDateTime getUpcomingCourseEndTime();
+
+    Long getUpcomingCoursePrice();
+
+    /**
+     * @return null on the row of a student without upcoming courses
+     */
+    default CourseSummary getUpcomingCourse() {
+        if (getUpcomingCourseId() == null) {
+            return null;
+        }
+        return new CourseSummary(getUpcomingCourseId(), getUpcomingCourseName(), getUpcomingCourseStartTime(),
+                getUpcomingCourseEndTime(), getUpcomingCoursePrice());
+    }
+}
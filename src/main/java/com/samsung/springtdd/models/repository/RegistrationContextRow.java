@@ -0,0 +1,29 @@
+package com.samsung.springtdd.models.repository;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link RegistrationContext} as built by the constructor expression of
+ * {@link RegistrationRepository#findRegistrationContext}. A plain object per row, where an interface
+ * projection would put a proxy over a tuple map and go through both on every getter.
+ */
+@Value
+public class RegistrationContextRow implements RegistrationContext {
+    Long studentId;
+    Long courseId;
+    String courseName;
+    LocalDateTime courseStartTime;
+    LocalDateTime courseEndTime;
+    Long coursePrice;
+    Integer courseCapacity;
+    Integer courseSeatsTaken;
+    Long courseVersion;
+    Boolean alreadyRegistered;
+    Long upcomingCourseId;
+    String upcomingCourseName;
+    LocalDateTime upcomingCourseStartTime;
+    LocalDateTime upcomingCourseEndTime;
+    Long upcomingCoursePrice;
+}
@@ -1,17 +1,89 @@
 package com.samsung.springtdd.models.repository;
 
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.RosterEntry;
+import com.samsung.springtdd.models.DTO.ScheduleInterval;
+import com.samsung.springtdd.models.DTO.ScheduleEntry;
 import com.samsung.springtdd.models.Registration;
 import com.samsung.springtdd.models.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface RegistrationRepository extends JpaRepository<Registration, Long>, RegistrationRepositoryCustom {
+    String EXPORT_FETCH_SIZE = "1000";
 
-public interface RegistrationRepository extends JpaRepository<Registration, Long> {
     List<Registration> findByStudentAndCourseStartTimeAfter(Student student, LocalDateTime now);
     Optional<Registration> findByStudentAndCourse(Student student, Course course);
+    Optional<Registration> findByStudentAndCourseId(Student student, Long courseId);
     int countByStudentAndCourseStartTimeLessThanAndCourseEndTimeGreaterThan(Student student, LocalDateTime startTime, LocalDateTime endTime);
     int countByStudentAndCourseStartTimeBeforeAndCourseEndTimeAfter(Student student, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT new com.samsung.springtdd.models.repository.RegistrationContextRow(" +
+            "s.id, c.id, c.name, c.startTime, c.endTime, c.price, c.capacity, c.seatsTaken, c.version, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM Registration r WHERE r.student = s AND r.course = c) THEN true ELSE false END, " +
+            "u.id, u.name, u.startTime, u.endTime, u.price) " +
+            "FROM Student s " +
+            "LEFT JOIN Course c ON c.id = :courseId " +
+            "LEFT JOIN Registration ur ON ur.student = s " +
+            "LEFT JOIN Course u ON u = ur.course AND u.startTime > :now " +
+            "WHERE s.email = :email " +
+            "ORDER BY ur.id")
+    List<RegistrationContext> findRegistrationContext(@Param("email") String email, @Param("courseId") Long courseId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT r.course.id FROM Registration r WHERE r.student = :student AND r.course.id IN :courseIds")
+    Set<Long> findRegisteredCourseIds(@Param("student") Student student, @Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Existing registrations among the given students and courses, as {@code studentId:courseId} keys.
+     */
+    @Query("SELECT CONCAT(r.student.id, ':', r.course.id) FROM Registration r " +
+            "WHERE r.student.id IN :studentIds AND r.course.id IN :courseIds")
+    Set<String> findRegisteredKeys(@Param("studentIds") Collection<Long> studentIds, @Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT new com.samsung.springtdd.models.DTO.ScheduleInterval(r.student.id, c.id, c.startTime, c.endTime) " +
+            "FROM Registration r JOIN r.course c " +
+            "WHERE r.student.id = :studentId")
+    List<ScheduleInterval> findScheduleIntervals(@Param("studentId") Long studentId);
+
+    // Streams below must be consumed and closed inside a transaction. Rows are DTOs, not entities,
+    // so nothing accumulates in the persistence context while an export is written.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.samsung.springtdd.models.DTO.RosterEntry(r.id, s.id, s.email, s.firstName, s.lastName, r.price, r.registeredDate) " +
+            "FROM Registration r JOIN r.student s " +
+            "WHERE r.course.id = :courseId " +
+            "ORDER BY r.id")
+    Stream<RosterEntry> streamRoster(@Param("courseId") Long courseId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.samsung.springtdd.models.DTO.ScheduleEntry(r.id, c.id, c.name, c.startTime, c.endTime, r.price, r.registeredDate) " +
+            "FROM Registration r JOIN r.course c " +
+            "WHERE r.student.email = :email " +
+            "ORDER BY c.startTime, r.id")
+    Stream<ScheduleEntry> streamSchedule(@Param("email") String email);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.samsung.springtdd.models.DTO.ScheduleInterval(r.student.id, c.id, c.startTime, c.endTime) " +
+            "FROM Registration r JOIN r.course c " +
+            "ORDER BY r.student.id")
+    Stream<ScheduleInterval> streamScheduleIntervals();
 }
@@ -0,0 +1,14 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.Registration;
+
+import java.util.List;
+
+public interface RegistrationRepositoryCustom {
+    /**
+     * Persists all registrations and flushes them as JDBC batches, so a duplicate surfaces here as a
+     * {@link org.springframework.dao.DataIntegrityViolationException} rather than at commit. The
+     * registrations are detached afterwards. Student and course only need their ids.
+     */
+    void insertAll(List<Registration> registrations);
+}
@@ -0,0 +1,26 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.Registration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+public class RegistrationRepositoryCustomImpl implements RegistrationRepositoryCustom {
+    // Bounds the persistence context for large lists, a multiple of hibernate.jdbc.batch_size
+    private static final int FLUSH_EVERY = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Registration> registrations) {
+        for (int i = 0; i < registrations.size(); i++) {
+            entityManager.persist(registrations.get(i));
+            if ((i + 1) % FLUSH_EVERY == 0 || i == registrations.size() - 1) {
+                entityManager.flush();
+                registrations.subList(i - i % FLUSH_EVERY, i + 1).forEach(entityManager::detach);
+            }
+        }
+    }
+}
@@ -1,11 +1,41 @@
 package com.samsung.springtdd.models.repository;
 
-import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.configuration.CacheConfig;
+import com.samsung.springtdd.models.DTO.StudentSnapshot;
 import com.samsung.springtdd.models.Student;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
+
+    @Cacheable(cacheNames = CacheConfig.STUDENTS, key = "#p0", unless = "#result == null")
+    @Query("SELECT new com.samsung.springtdd.models.DTO.StudentSnapshot(s.id, s.email, s.firstName, s.lastName) " +
+            "FROM Student s WHERE s.email = :email")
+    Optional<StudentSnapshot> findSnapshotByEmail(@Param("email") String email);
+
+    List<Student> findAllByEmailIn(Collection<String> emails);
+
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS, allEntries = true)
+    void deleteAllInBatch();
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS, allEntries = true)
+    void deleteAllInBatch(Iterable<Student> students);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> ids);
 }
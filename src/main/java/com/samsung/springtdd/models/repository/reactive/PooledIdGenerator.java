@@ -0,0 +1,88 @@
+package com.samsung.springtdd.models.repository.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ids from blocks reserved in {@code id_generators}, the same pooled-lo scheme as the JPA
+ * entities' table generators (see the V3 migration), so rows inserted by either stack never collide.
+ * A block is reserved in its own transaction, and concurrent callers that find the block used up
+ * wait for one shared reservation.
+ */
+public class PooledIdGenerator {
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final String sequenceName;
+    private final int blockSize;
+
+    private volatile Block block = new Block(0, 0);
+    // Guarded by this
+    private Mono<Void> reservation;
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+
+    /**
+     * @param blockSize must match the {@code allocationSize} of the entity's {@code @TableGenerator}
+     */
+    public PooledIdGenerator(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                             String sequenceName, int blockSize) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.end) {
+                return Mono.just(id);
+            }
+            return reserve(current).then(nextId());
+        });
+    }
+
+    private synchronized Mono<Void> reserve(Block exhausted) {
+        if (block != exhausted) {
+            return Mono.empty();
+        }
+        if (reservation == null) {
+            reservation = transactionalOperator.transactional(reserveBlock())
+                    .doOnNext(reserved -> block = reserved)
+                    .doFinally(signal -> clearReservation())
+                    .then()
+                    .cache();
+        }
+        return reservation;
+    }
+
+    private synchronized void clearReservation() {
+        reservation = null;
+    }
+
+    private Mono<Block> reserveBlock() {
+        return databaseClient.sql("SELECT next_val FROM id_generators WHERE sequence_name = :name FOR UPDATE")
+                .bind("name", sequenceName)
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No id_generators row for " + sequenceName)))
+                .flatMap(first -> databaseClient.sql("UPDATE id_generators SET next_val = :next WHERE sequence_name = :name")
+                        .bind("next", first + blockSize)
+                        .bind("name", sequenceName)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(new Block(first, first + blockSize)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.samsung.springtdd.models.repository.reactive;
+
+import com.samsung.springtdd.models.reactive.ReactiveCourse;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCourseRepository extends R2dbcRepository<ReactiveCourse, Long> {
+    /**
+     * Same conditional update as {@code CourseRepository.reserveSeat}.
+     *
+     * @return 1 if a seat was taken, 0 if the course is full or does not exist
+     */
+    @Modifying
+    @Query("UPDATE courses SET seats_taken = seats_taken + 1, version = version + 1 " +
+            "WHERE id = :id AND (capacity IS NULL OR seats_taken < capacity)")
+    Mono<Integer> reserveSeat(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE courses SET seats_taken = seats_taken - 1, version = version + 1 WHERE id = :id AND seats_taken > 0")
+    Mono<Integer> releaseSeat(@Param("id") Long id);
+}
@@ -0,0 +1,49 @@
+package com.samsung.springtdd.models.repository.reactive;
+
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.reactive.ReactiveRegistration;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveRegistrationRepository extends R2dbcRepository<ReactiveRegistration, Long> {
+    Mono<Boolean> existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    /**
+     * Courses the student is registered for that run at {@code now}, bounds exclusive like
+     * {@code StudentSchedule.countOngoing}.
+     */
+    @Query("SELECT COUNT(*) FROM registrations r JOIN courses c ON c.id = r.course_id " +
+            "WHERE r.student_id = :studentId AND c.start_time < :now AND c.end_time > :now")
+    Mono<Long> countOngoing(@Param("studentId") Long studentId, @Param("now") LocalDateTime now);
+
+    /**
+     * Courses the student is registered for that overlap the range, touching ranges don't count.
+     */
+    @Query("SELECT COUNT(*) FROM registrations r JOIN courses c ON c.id = r.course_id " +
+            "WHERE r.student_id = :studentId AND c.start_time < :endTime AND c.end_time > :startTime")
+    Mono<Long> countOverlapping(@Param("studentId") Long studentId,
+                                @Param("startTime") LocalDateTime startTime,
+                                @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT c.id, c.name, c.start_time, c.end_time, c.price " +
+            "FROM registrations r JOIN courses c ON c.id = r.course_id " +
+            "WHERE r.student_id = :studentId AND c.start_time > :now " +
+            "ORDER BY r.id")
+    Flux<CourseSummary> findUpcomingCourses(@Param("studentId") Long studentId, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes in one statement instead of reading the row first, so of two concurrent unregisters
+     * only one sees a deleted row and releases the seat.
+     *
+     * @return 1 if the registration existed, 0 otherwise
+     */
+    @Modifying
+    @Query("DELETE FROM registrations WHERE student_id = :studentId AND course_id = :courseId")
+    Mono<Integer> deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+}
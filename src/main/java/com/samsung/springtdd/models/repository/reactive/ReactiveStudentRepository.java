@@ -0,0 +1,9 @@
+package com.samsung.springtdd.models.repository.reactive;
+
+import com.samsung.springtdd.models.reactive.ReactiveStudent;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStudentRepository extends R2dbcRepository<ReactiveStudent, Long> {
+    Mono<ReactiveStudent> findByEmail(String email);
+}
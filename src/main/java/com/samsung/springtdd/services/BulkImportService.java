@@ -0,0 +1,379 @@
+package com.samsung.springtdd.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseImportRow;
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.models.DTO.RegistrationImportRow;
+import com.samsung.springtdd.models.DTO.StudentImportRow;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports students, courses and historical registrations from CSV (with a header row) or NDJSON.
+ * <p>
+ * Rows are read one at a time from the input and written in chunks of {@code registration.import.chunk-size},
+ * each chunk in its own transaction with batched inserts, so memory use does not depend on the size of
+ * the input. Rows failing validation are reported and skipped, the rest of the chunk is written. When a
+ * concurrent write conflicts with a chunk, it is retried row by row to find the offending row.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+    public enum Target {
+        STUDENTS(StudentImportRow.class, "Student already exists"),
+        COURSES(CourseImportRow.class, "Course could not be saved"),
+        REGISTRATIONS(RegistrationImportRow.class, "Already registered for this course");
+
+        private final Class<?> rowType;
+        private final String conflictMessage;
+
+        Target(Class<?> rowType, String conflictMessage) {
+            this.rowType = rowType;
+            this.conflictMessage = conflictMessage;
+        }
+
+        public static Target of(String name) {
+            for (Target target : values()) {
+                if (target.name().equalsIgnoreCase(name)) {
+                    return target;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported import");
+        }
+    }
+
+    private record NumberedRow<T>(long row, T value) {
+    }
+
+    private interface ChunkWriter<T> {
+        List<ImportReport.RowError> write(List<NumberedRow<T>> chunk);
+    }
+
+    // Thrown when a multi-seat reservation loses to concurrent registrations, retried row by row
+    private static class SeatConflictException extends RuntimeException {
+    }
+
+    private static final int PROGRESS_EVERY = 10_000;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${registration.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${registration.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${registration.reject-overlapping-courses:false}")
+    private boolean rejectOverlappingCourses;
+
+    public ImportReport importRows(Target target, RegistrationExportService.Format format, InputStream in) throws IOException {
+        return switch (target) {
+            case STUDENTS -> importRows(target, this.<StudentImportRow>read(target, format, in), this::writeStudents);
+            case COURSES -> importRows(target, this.<CourseImportRow>read(target, format, in), this::writeCourses);
+            case REGISTRATIONS -> importRows(target, this.<RegistrationImportRow>read(target, format, in), this::writeRegistrations);
+        };
+    }
+
+    private <T> MappingIterator<T> read(Target target, RegistrationExportService.Format format, InputStream in) throws IOException {
+        if (format == RegistrationExportService.Format.CSV) {
+            return csvMapper.readerFor(target.rowType)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(in);
+        }
+        return objectMapper.readerFor(target.rowType).readValues(in);
+    }
+
+    private <T> ImportReport importRows(Target target, MappingIterator<T> rows, ChunkWriter<T> writer) throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<NumberedRow<T>> chunk = new ArrayList<>(chunkSize);
+        long row = 0;
+        long failed = 0;
+        boolean complete = true;
+
+        try (rows) {
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    T value = rows.nextValue();
+                    chunk.add(new NumberedRow<>(++row, value));
+                } catch (JsonMappingException e) {
+                    // A value of the wrong type, the parser is past the row and can go on
+                    failed += report(errors, new ImportReport.RowError(++row, "Invalid row: " + e.getOriginalMessage()));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    failed += report(errors, new ImportReport.RowError(++row, "Malformed input: " + e.getOriginalMessage()));
+                    complete = false;
+                    break;
+                }
+
+                if (chunk.size() == chunkSize) {
+                    failed += report(errors, writeChunk(target, transactionTemplate, chunk, writer));
+                    chunk.clear();
+                    if (row % PROGRESS_EVERY < chunkSize) {
+                        log.info("Importing {}: {} rows read, {} failed, {} rows/s", target.name().toLowerCase(), row, failed,
+                                rowsPerSecond(row, start));
+                    }
+                }
+            }
+            failed += report(errors, writeChunk(target, transactionTemplate, chunk, writer));
+        }
+
+        ImportReport report = ImportReport.builder()
+                .rows(row)
+                .imported(row - failed)
+                .failed(failed)
+                .complete(complete)
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .rowsPerSecond(rowsPerSecond(row, start))
+                .errors(errors)
+                .build();
+        log.info("Imported {} {} of {} rows in {} ms ({} rows/s), {} failed", report.getImported(), target.name().toLowerCase(),
+                report.getRows(), report.getElapsedMillis(), report.getRowsPerSecond(), report.getFailed());
+        return report;
+    }
+
+    private <T> List<ImportReport.RowError> writeChunk(Target target, TransactionTemplate transactionTemplate,
+                                                       List<NumberedRow<T>> chunk, ChunkWriter<T> writer) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> writer.write(chunk));
+        } catch (DataIntegrityViolationException | SeatConflictException e) {
+            if (chunk.size() == 1) {
+                return List.of(new ImportReport.RowError(chunk.get(0).row(), target.conflictMessage));
+            }
+            // A concurrent write took a key or seat this chunk wanted, retry row by row to find it
+            List<ImportReport.RowError> errors = new ArrayList<>();
+            for (NumberedRow<T> row : chunk) {
+                errors.addAll(writeChunk(target, transactionTemplate, List.of(row), writer));
+            }
+            return errors;
+        }
+    }
+
+    private List<ImportReport.RowError> writeStudents(List<NumberedRow<StudentImportRow>> chunk) {
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        Set<String> emails = new HashSet<>(studentRepository.findExistingEmails(
+                values(chunk, StudentImportRow::getEmail)));
+        List<Student> students = new ArrayList<>(chunk.size());
+        for (NumberedRow<StudentImportRow> numbered : chunk) {
+            StudentImportRow row = numbered.value();
+            if (row.getEmail() == null || row.getEmail().isBlank()) {
+                errors.add(new ImportReport.RowError(numbered.row(), "Email is required"));
+            } else if (!emails.add(row.getEmail())) {
+                errors.add(new ImportReport.RowError(numbered.row(), "Student already exists"));
+            } else {
+                students.add(Student.builder()
+                        .email(row.getEmail())
+                        .firstName(row.getFirstName())
+                        .lastName(row.getLastName())
+                        .build());
+            }
+        }
+        studentRepository.saveAll(students);
+        return errors;
+    }
+
+    private List<ImportReport.RowError> writeCourses(List<NumberedRow<CourseImportRow>> chunk) {
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<Course> courses = new ArrayList<>(chunk.size());
+        for (NumberedRow<CourseImportRow> numbered : chunk) {
+            CourseImportRow row = numbered.value();
+            String message = validate(row);
+            if (message != null) {
+                errors.add(new ImportReport.RowError(numbered.row(), message));
+            } else {
+                courses.add(Course.builder()
+                        .name(row.getName())
+                        .startTime(row.getStartTime())
+                        .endTime(row.getEndTime())
+                        .price(row.getPrice())
+                        .capacity(row.getCapacity())
+                        .build());
+            }
+        }
+        courseRepository.saveAll(courses);
+        return errors;
+    }
+
+    private String validate(CourseImportRow row) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (row.getStartTime() == null || row.getEndTime() == null) {
+            return "Start and end time are required";
+        }
+        if (!row.getEndTime().isAfter(row.getStartTime())) {
+            return "Course must end after it starts";
+        }
+        if (row.getPrice() == null || row.getPrice() < 0) {
+            return "Price must not be negative";
+        }
+        if (row.getCapacity() != null && row.getCapacity() <= 0) {
+            return "Capacity must be positive";
+        }
+        return null;
+    }
+
+    /**
+     * Applies the rules of {@link RegistrationService} at the registration date of each row: the student
+     * and course must exist, the course must not have started yet, no duplicates and no more registrations
+     * than seats. With {@code registration.reject-overlapping-courses} a course must not overlap one the
+     * student is registered for, already or earlier in the import.
+     */
+    private List<ImportReport.RowError> writeRegistrations(List<NumberedRow<RegistrationImportRow>> chunk) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<String, Student> students = studentRepository.findAllByEmailIn(values(chunk, RegistrationImportRow::getEmail)).stream()
+                .collect(Collectors.toMap(Student::getEmail, Function.identity()));
+        Map<Long, Course> courses = courseRepository.findAllById(values(chunk, RegistrationImportRow::getCourseId)).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Set<String> registered = courses.isEmpty() || students.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(registrationRepository.findRegisteredKeys(
+                        students.values().stream().map(Student::getId).toList(), courses.keySet()));
+
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        Map<Long, List<Registration>> byCourse = new HashMap<>();
+        // Schedules of this chunk's students, with the rows accepted so far
+        Map<Long, StudentSchedule> schedules = new HashMap<>();
+        for (NumberedRow<RegistrationImportRow> numbered : chunk) {
+            RegistrationImportRow row = numbered.value();
+            Student student = row.getEmail() == null ? null : students.get(row.getEmail());
+            Course course = row.getCourseId() == null ? null : courses.get(row.getCourseId());
+            LocalDateTime registeredDate = row.getRegisteredDate() != null ? row.getRegisteredDate() : now;
+            String message = null;
+            if (student == null) {
+                message = "Student not found";
+            } else if (course == null) {
+                message = "Course not found";
+            } else if (course.getStartTime().isBefore(registeredDate)) {
+                message = "Course has already started";
+            } else if (!registered.add(student.getId() + ":" + course.getId())) {
+                message = "Already registered for this course";
+            } else if (course.getCapacity() != null
+                    && course.getSeatsTaken() + byCourse.getOrDefault(course.getId(), List.of()).size() >= course.getCapacity()) {
+                message = "Course is full";
+            } else if (rejectOverlappingCourses) {
+                StudentSchedule schedule = schedules.computeIfAbsent(student.getId(), studentScheduleIndex::schedule);
+                if (schedule.overlaps(course.getStartTime(), course.getEndTime())) {
+                    message = "Course overlaps another registered course";
+                } else {
+                    schedules.put(student.getId(), schedule.with(course.getId(), course.getStartTime(), course.getEndTime()));
+                }
+            }
+
+            if (message != null) {
+                errors.add(new ImportReport.RowError(numbered.row(), message));
+            } else {
+                long price = row.getPrice() != null ? row.getPrice() : course.getPrice();
+                byCourse.computeIfAbsent(course.getId(), id -> new ArrayList<>())
+                        .add(new Registration(student, course, price, registeredDate));
+            }
+        }
+
+        Map<Long, Integer> seats = new HashMap<>();
+        byCourse.forEach((courseId, registrations) -> seats.put(courseId, registrations.size()));
+        if (!seatAllocator.tryReserveAll(seats).isEmpty()) {
+            if (chunk.size() > 1) {
+                throw new SeatConflictException();
+            }
+            errors.add(new ImportReport.RowError(chunk.get(0).row(), "Course is full"));
+            return errors;
+        }
+        List<Registration> registrations = byCourse.values().stream().flatMap(List::stream).toList();
+        registrationRepository.insertAll(registrations);
+        studentScheduleIndex.invalidate(registrations.stream().map(registration -> registration.getStudent().getId()).collect(Collectors.toSet()));
+        return errors;
+    }
+
+    private static <T, V> Set<V> values(List<NumberedRow<T>> chunk, Function<T, V> getter) {
+        return chunk.stream()
+                .map(row -> getter.apply(row.value()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private int report(List<ImportReport.RowError> errors, ImportReport.RowError error) {
+        return report(errors, List.of(error));
+    }
+
+    private int report(List<ImportReport.RowError> errors, List<ImportReport.RowError> newErrors) {
+        for (ImportReport.RowError error : newErrors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            }
+        }
+        return newErrors.size();
+    }
+
+    private static long rowsPerSecond(long rows, long start) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        return rows * 1_000_000_000L / elapsedNanos;
+    }
+}
@@ -0,0 +1,132 @@
+package com.samsung.springtdd.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a registration write in its own transaction and runs it again when it lost a race, instead of
+ * holding pessimistic locks for the whole transaction ({@code registration.retry.*}).
+ * <p>
+ * How conflicts end up in {@code GlobalExceptionHandler}:
+ * <ul>
+ *     <li>{@link OptimisticLockingFailureException}: a versioned {@code Course} or {@code Registration}
+ *     changed after it was read, e.g. two unregisters of the same registration. Retried, the next
+ *     attempt reads the new state and usually ends in a normal rejection ("Registration not found", 400).</li>
+ *     <li>{@link PessimisticLockingFailureException}: a deadlock or lock wait timeout reported by the
+ *     database. Retried.</li>
+ *     <li>Either one on the last attempt: {@link RegistrationConflictException}, 409 with {@code Retry-After}.</li>
+ *     <li>{@link DataIntegrityViolationException} from the unique constraint is not retried, the same
+ *     registration would only fail again. {@code RegistrationService} turns it into "Already
+ *     registered for this course" (400).</li>
+ * </ul>
+ * Attempts are separated by a random delay between zero and an exponentially growing cap (full
+ * jitter), so requests that collided once don't collide again in lockstep. Inside a caller's
+ * transaction a conflict has already marked that transaction rollback-only, so the work runs once.
+ */
+@Component
+public class ConflictRetryPolicy {
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+
+    public ConflictRetryPolicy(PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${registration.retry.max-attempts:3}") int maxAttempts,
+                               @Value("${registration.retry.backoff:5ms}") Duration backoff,
+                               @Value("${registration.retry.max-backoff:100ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("registration.retry.max-attempts must be at least 1");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (!retryable || attempt >= maxAttempts) {
+                    throw new RegistrationConflictException(e);
+                }
+                retryCounter(operation).increment();
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    public void execute(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * The same attempts and backoff for the reactive stack. {@code work} has to open its own
+     * transaction, every attempt subscribes to it again; the backoff is a timer, not a sleep.
+     */
+    public <T> Mono<T> execute(String operation, Mono<T> work) {
+        return work.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            if (!(failure instanceof ConcurrencyFailureException)) {
+                return Mono.error(failure);
+            }
+            int attempt = (int) signal.totalRetries() + 1;
+            if (attempt >= maxAttempts) {
+                return Mono.error(new RegistrationConflictException(failure));
+            }
+            retryCounter(operation).increment();
+            return Mono.delay(Duration.ofNanos(randomBackoffNanos(attempt)));
+        })));
+    }
+
+    private void backOff(int attempt, ConcurrencyFailureException conflict) {
+        long backoff = randomBackoffNanos(attempt);
+        if (backoff <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(backoff));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RegistrationConflictException(conflict);
+        }
+    }
+
+    private long randomBackoffNanos(int attempt) {
+        long cap = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap);
+    }
+
+    private Counter retryCounter(String operation) {
+        return retries.computeIfAbsent(operation, key -> Counter.builder("registration.retries")
+                .description("Registration attempts repeated after a concurrent write conflict")
+                .tag("operation", operation)
+                .register(meterRegistry));
+    }
+}
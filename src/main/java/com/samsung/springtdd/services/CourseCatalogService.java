@@ -0,0 +1,78 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.CoursePage;
+import com.samsung.springtdd.models.DTO.CourseSearch;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Pages through the course catalog with keyset pagination. The cursor is the (start time, id) of the
+ * last course of a page, Base64 encoded so clients don't build or depend on it.
+ */
+@Service
+public class CourseCatalogService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final char CURSOR_SEPARATOR = '|';
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    /**
+     * @param cursor {@code nextCursor} of the previous page, {@code null} for the first page
+     * @param size   courses per page, at most {@value #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public CoursePage search(CourseSearch search, String cursor, int size) {
+        if (size < 1) {
+            throw new RegistrationRejectedException(ErrorCode.INVALID_REQUEST, "Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+
+        LocalDateTime afterStartTime = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String decoded = decode(cursor);
+            int separator = decoded.indexOf(CURSOR_SEPARATOR);
+            try {
+                afterStartTime = LocalDateTime.parse(decoded.substring(0, Math.max(separator, 0)));
+                afterId = Long.parseLong(decoded.substring(separator + 1));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new RegistrationRejectedException(ErrorCode.INVALID_CURSOR);
+            }
+        }
+
+        // One extra row tells whether there is a next page without a count query
+        List<CourseSummary> courses = courseRepository.findCatalogPage(search, afterStartTime, afterId, pageSize + 1);
+        if (courses.size() <= pageSize) {
+            return new CoursePage(courses, null);
+        }
+        courses = courses.subList(0, pageSize);
+        CourseSummary last = courses.get(pageSize - 1);
+        return new CoursePage(courses, encode(last.getStartTime(), last.getId()));
+    }
+
+    private static String encode(LocalDateTime startTime, Long id) {
+        String cursor = startTime.toString() + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RegistrationRejectedException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
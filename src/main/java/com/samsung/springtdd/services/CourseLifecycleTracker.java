@@ -0,0 +1,306 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseWindow;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * Time window and state (upcoming, ongoing, finished) of every course, so a registration or
+ * unregistration for a course that has already started is rejected before any database access.
+ * <p>
+ * Windows live in a {@link CourseWindows} table, read under an optimistic {@link StampedLock} stamp.
+ * A scheduler thread moves courses to their next state when it is due, sleeping until the next
+ * transition but at most {@code registration.course-lifecycle.max-sleep}; lookups don't wait for it,
+ * a transition that is due counts right away. Times come from the application {@link Clock}.
+ * <p>
+ * Filled at startup ({@code registration.course-lifecycle.warm-up}) and kept current by the
+ * {@code Course} entity listener after each commit, and by every registration from the course row it
+ * reads anyway. A course the tracker doesn't know is left to the database checks, so the tracker can
+ * only reject earlier, never accept what the database would reject.
+ */
+@Slf4j
+@Component
+public class CourseLifecycleTracker implements SmartInitializingSingleton, SmartLifecycle {
+    public enum State {
+        UPCOMING, ONGOING, FINISHED
+    }
+
+    private static final State[] STATES = State.values();
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${registration.course-lifecycle.warm-up:true}")
+    private boolean warmUp;
+
+    @Value("${registration.course-lifecycle.max-sleep:1m}")
+    private Duration maxSleep;
+
+    private final CourseWindows windows = new CourseWindows();
+    private final StampedLock lock = new StampedLock();
+
+    // Guarded by this
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> nextAdvance;
+    private long nextAdvanceAt = Long.MAX_VALUE;
+
+    @PostConstruct
+    void init() {
+        for (State state : STATES) {
+            Gauge.builder("registration.courses", this, tracker -> tracker.count(state))
+                    .description("Courses known to the lifecycle tracker, by state")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return the course's state now, {@code null} if the course is not tracked
+     */
+    public State state(Long courseId) {
+        long now = clock.millis();
+        long stamp = lock.tryOptimisticRead();
+        byte state = windows.state(courseId, now);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                state = windows.state(courseId, now);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return state == CourseWindows.UNKNOWN ? null : STATES[state];
+    }
+
+    /**
+     * @return true only if the course is tracked and has started, false also for unknown courses
+     */
+    public boolean hasStarted(Long courseId) {
+        State state = state(courseId);
+        return state != null && state != State.UPCOMING;
+    }
+
+    /**
+     * Records a window read from committed data, right away.
+     */
+    public void track(Long courseId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (courseId == null || startTime == null || endTime == null) {
+            return;
+        }
+        long start = toMillis(startTime);
+        long end = toMillis(endTime);
+        long next;
+        long stamp = lock.writeLock();
+        try {
+            if (!windows.put(courseId, start, end, clock.millis())) {
+                return;
+            }
+            next = windows.nextTransition();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        scheduleBefore(next);
+    }
+
+    /**
+     * Like {@link #track}, but only takes the write lock for a course the tracker doesn't know yet,
+     * changes of known courses come from the entity listener.
+     */
+    public void trackIfUnknown(Long courseId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (courseId != null && state(courseId) == null) {
+            track(courseId, startTime, endTime);
+        }
+    }
+
+    /**
+     * Records a course written in the current transaction once it commits.
+     */
+    public void saved(Course course) {
+        Long courseId = course.getId();
+        LocalDateTime startTime = course.getStartTime();
+        LocalDateTime endTime = course.getEndTime();
+        afterCommit(() -> track(courseId, startTime, endTime));
+    }
+
+    public void removed(Long courseId) {
+        afterCommit(() -> {
+            long stamp = lock.writeLock();
+            try {
+                windows.remove(courseId);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        });
+    }
+
+    /**
+     * Applies the transitions due now.
+     *
+     * @return the number of courses that changed state
+     */
+    int advance() {
+        long stamp = lock.writeLock();
+        try {
+            return windows.advance(clock.millis());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int count(State state) {
+        return windows.count((byte) state.ordinal());
+    }
+
+    /**
+     * Runs before the web server starts, so no course can be written while the tracker is filled.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!warmUp) {
+            return;
+        }
+        long start = System.nanoTime();
+        Long courses = new TransactionTemplate(transactionManager).execute(status -> fill());
+        log.info("Tracking the time windows of {} courses, loaded in {} ms", courses, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long fill() {
+        long courses = 0;
+        try (Stream<CourseWindow> courseWindows = courseRepository.streamCourseWindows()) {
+            Iterator<CourseWindow> iterator = courseWindows.iterator();
+            // One lock for the whole load, nothing reads the tracker yet
+            long stamp = lock.writeLock();
+            try {
+                long now = clock.millis();
+                while (iterator.hasNext()) {
+                    CourseWindow window = iterator.next();
+                    if (window.getStartTime() != null && window.getEndTime() != null) {
+                        windows.put(window.getId(), toMillis(window.getStartTime()), toMillis(window.getEndTime()), now);
+                        courses++;
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return courses;
+    }
+
+    @Override
+    public synchronized void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleNext();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            nextAdvance = null;
+            nextAdvanceAt = Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void advanceAndReschedule() {
+        try {
+            int moved = advance();
+            log.debug("{} courses changed state", moved);
+        } catch (RuntimeException e) {
+            log.error("Course lifecycle update failed", e);
+        }
+        synchronized (this) {
+            scheduleNext();
+        }
+    }
+
+    private void scheduleBefore(long transition) {
+        synchronized (this) {
+            if (scheduler != null && transition < nextAdvanceAt) {
+                scheduleNext();
+            }
+        }
+    }
+
+    // Caller holds the monitor. Cancels the pending run, so there is only ever one, also when a run
+    // that couldn't be cancelled any more reschedules after an earlier transition was added.
+    private void scheduleNext() {
+        if (scheduler == null) {
+            return;
+        }
+        if (nextAdvance != null) {
+            nextAdvance.cancel(false);
+        }
+        long stamp = lock.readLock();
+        long next;
+        try {
+            next = windows.nextTransition();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        long now = clock.millis();
+        long delay = Math.max(0, Math.min(next - now, maxSleep.toMillis()));
+        nextAdvanceAt = now + delay;
+        nextAdvance = scheduler.schedule(this::advanceAndReschedule, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
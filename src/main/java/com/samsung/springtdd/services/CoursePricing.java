@@ -0,0 +1,21 @@
+package com.samsung.springtdd.services;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * What a student pays for a course: the course price, 25% off while the student attends two or more
+ * ongoing courses. Shared by registration and price quotes so both always agree. Primitive in and
+ * out, quoting a whole cart allocates nothing here.
+ */
+@Component
+public class CoursePricing {
+    static final int DISCOUNT_MIN_ONGOING_COURSES = 2;
+
+    public long price(long coursePrice, int ongoingCourses) {
+        return isDiscounted(ongoingCourses) ? (long) (coursePrice * 0.75) : coursePrice;
+    }
+
+    public boolean isDiscounted(int ongoingCourses) {
+        return ongoingCourses >= DISCOUNT_MIN_ONGOING_COURSES;
+    }
+}
@@ -0,0 +1,252 @@
+package com.samsung.springtdd.services;
+
+import java.util.Arrays;
+
+/**
+ * Start and end of each course as epoch millis, in one open-addressing table keyed by the primitive
+ * course id, plus a min-heap of the times at which a course moves on to its next state. About 32 bytes
+ * per course instead of a map entry, a boxed key and a window object.
+ * <p>
+ * Not thread-safe, {@link CourseLifecycleTracker} serializes the writes. {@link #state} may run
+ * concurrently with a write: it reads the table once, so it never fails, but it may then miss a course,
+ * and the caller has to validate the read and retry it.
+ */
+final class CourseWindows {
+    static final byte UPCOMING = 0;
+    static final byte ONGOING = 1;
+    static final byte FINISHED = 2;
+    static final byte UNKNOWN = -1;
+
+    // Slot layout: id, start, end, stored state. Id 0 marks a free slot, generated ids start at 1.
+    private static final int STRIDE = 4;
+    private static final long FREE = 0;
+
+    private volatile long[] table = new long[16 * STRIDE];
+    private int size;
+    private final int[] counts = new int[3];
+
+    // Pending transitions, ordered by time. Entries are not removed when a course changes, a stale one
+    // is recognized when it comes up because the course's state doesn't change.
+    private long[] heapTimes = new long[16];
+    private long[] heapIds = new long[16];
+    private int heapSize;
+
+    int size() {
+        return size;
+    }
+
+    int count(byte state) {
+        return counts[state];
+    }
+
+    /**
+     * The course's state at {@code now}, or {@link #UNKNOWN}. A transition that is due but not yet
+     * applied by {@link #advance} is taken into account.
+     */
+    byte state(long id, long now) {
+        long[] slots = table;
+        int slot = find(slots, id);
+        if (slot < 0) {
+            return UNKNOWN;
+        }
+        return (byte) Math.max(slots[slot + 3], stateAt(slots[slot + 1], slots[slot + 2], now));
+    }
+
+    /**
+     * Adds the course or replaces its window.
+     *
+     * @return whether anything changed
+     */
+    boolean put(long id, long start, long end, long now) {
+        if (id == FREE) {
+            throw new IllegalArgumentException("Course id 0 can't be tracked");
+        }
+        long[] slots = table;
+        int slot = find(slots, id);
+        if (slot >= 0 && slots[slot + 1] == start && slots[slot + 2] == end) {
+            return false;
+        }
+        byte state = stateAt(start, end, now);
+        if (slot >= 0) {
+            counts[(int) slots[slot + 3]]--;
+        } else {
+            if ((size + 1) * 2 > slots.length / STRIDE) {
+                slots = resize(slots.length * 2);
+            }
+            slot = freeSlot(slots, id);
+            size++;
+        }
+        // Id last, so a concurrent lookup never sees the id with an empty window
+        slots[slot + 1] = start;
+        slots[slot + 2] = end;
+        slots[slot + 3] = state;
+        slots[slot] = id;
+        counts[state]++;
+        if (state != FINISHED) {
+            push(state == UPCOMING ? start + 1 : end, id);
+        }
+        return true;
+    }
+
+    boolean remove(long id) {
+        long[] slots = table;
+        int slot = find(slots, id);
+        if (slot < 0) {
+            return false;
+        }
+        counts[(int) slots[slot + 3]]--;
+        size--;
+        // Backward shift instead of a tombstone: later entries of the probe run move up into the gap
+        int mask = slots.length / STRIDE - 1;
+        int gap = slot / STRIDE;
+        int next = gap;
+        while (true) {
+            next = (next + 1) & mask;
+            long nextId = slots[next * STRIDE];
+            if (nextId == FREE) {
+                break;
+            }
+            int home = hash(nextId) & mask;
+            boolean stays = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (!stays) {
+                System.arraycopy(slots, next * STRIDE, slots, gap * STRIDE, STRIDE);
+                gap = next;
+            }
+        }
+        Arrays.fill(slots, gap * STRIDE, gap * STRIDE + STRIDE, FREE);
+        return true;
+    }
+
+    /**
+     * Applies every transition due at {@code now}.
+     *
+     * @return the number of courses that changed state
+     */
+    int advance(long now) {
+        int moved = 0;
+        long[] slots = table;
+        while (heapSize > 0 && heapTimes[0] <= now) {
+            long id = heapIds[0];
+            pop();
+            int slot = find(slots, id);
+            if (slot < 0) {
+                continue;
+            }
+            byte before = (byte) slots[slot + 3];
+            byte after = stateAt(slots[slot + 1], slots[slot + 2], now);
+            if (after == before) {
+                continue;
+            }
+            counts[before]--;
+            counts[after]++;
+            slots[slot + 3] = after;
+            moved++;
+            if (after == ONGOING) {
+                push(slots[slot + 2], id);
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * @return the time of the next pending transition, {@link Long#MAX_VALUE} if there is none
+     */
+    long nextTransition() {
+        return heapSize == 0 ? Long.MAX_VALUE : heapTimes[0];
+    }
+
+    /**
+     * Same bounds as the registration rule (started once the start is before now) and the ongoing
+     * count (start &lt; t &lt; end), so a course moves on one millisecond after its start and at its end.
+     */
+    static byte stateAt(long start, long end, long now) {
+        if (now <= start) {
+            return UPCOMING;
+        }
+        return now < end ? ONGOING : FINISHED;
+    }
+
+    private static int find(long[] slots, long id) {
+        int mask = slots.length / STRIDE - 1;
+        for (int index = hash(id) & mask; ; index = (index + 1) & mask) {
+            long slotId = slots[index * STRIDE];
+            if (slotId == id) {
+                return index * STRIDE;
+            }
+            if (slotId == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    private static int freeSlot(long[] slots, long id) {
+        int mask = slots.length / STRIDE - 1;
+        int index = hash(id) & mask;
+        while (slots[index * STRIDE] != FREE) {
+            index = (index + 1) & mask;
+        }
+        return index * STRIDE;
+    }
+
+    private long[] resize(int length) {
+        long[] old = table;
+        long[] slots = new long[length];
+        for (int from = 0; from < old.length; from += STRIDE) {
+            if (old[from] != FREE) {
+                System.arraycopy(old, from, slots, freeSlot(slots, old[from]), STRIDE);
+            }
+        }
+        table = slots;
+        return slots;
+    }
+
+    private static int hash(long id) {
+        // Ids are mostly sequential, spread them so neighbours don't share a probe run
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void push(long time, long id) {
+        if (heapSize == heapTimes.length) {
+            heapTimes = Arrays.copyOf(heapTimes, heapSize * 2);
+            heapIds = Arrays.copyOf(heapIds, heapSize * 2);
+        }
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapTimes[parent] <= time) {
+                break;
+            }
+            heapTimes[index] = heapTimes[parent];
+            heapIds[index] = heapIds[parent];
+            index = parent;
+        }
+        heapTimes[index] = time;
+        heapIds[index] = id;
+    }
+
+    private void pop() {
+        long time = heapTimes[--heapSize];
+        long id = heapIds[heapSize];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapTimes[child + 1] < heapTimes[child]) {
+                child++;
+            }
+            if (heapTimes[child] >= time) {
+                break;
+            }
+            heapTimes[index] = heapTimes[child];
+            heapIds[index] = heapIds[child];
+            index = child;
+        }
+        if (heapSize > 0) {
+            heapTimes[index] = time;
+            heapIds[index] = id;
+        }
+    }
+}
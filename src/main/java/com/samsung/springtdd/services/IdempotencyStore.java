@@ -0,0 +1,118 @@
+package com.samsung.springtdd.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Responses by {@code Idempotency-Key}, so a client retrying a request gets the original response
+ * instead of running it again. Keys are kept for {@code registration.idempotency.ttl} and at most
+ * {@code registration.idempotency.max-keys} are held.
+ * <p>
+ * The key is claimed before the request runs. Claiming goes through the cache's map, which locks
+ * only the hash bin of the key, and a retry arriving while the original is still running waits for
+ * its response. Only successful responses are kept, a retry after a failure runs again.
+ */
+@Component
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Entry(String fingerprint, CompletableFuture<Object> response) {
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${registration.idempotency.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${registration.idempotency.max-keys:100000}")
+    private long maxKeys;
+
+    private Cache<String, Entry> entries;
+    private Counter fresh;
+    private Counter replayed;
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency_keys");
+        fresh = counter("fresh");
+        replayed = counter("replayed");
+    }
+
+    /**
+     * Runs {@code action} once per key. The fingerprint identifies the request, reusing a key for a
+     * different request is rejected. Without a key the action always runs.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String fingerprint, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RegistrationRejectedException(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new RegistrationRejectedException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            replayed.increment();
+            return (T) await(existing.response());
+        }
+
+        fresh.increment();
+        try {
+            T response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (Throwable e) {
+            entries.asMap().remove(key, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            // The retry fails the same way as the original it waited for
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("registration.idempotency")
+                .description("Requests with an Idempotency-Key, by whether they ran or replayed an earlier response")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
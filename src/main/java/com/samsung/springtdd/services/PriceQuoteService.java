@@ -0,0 +1,174 @@
+package com.samsung.springtdd.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samsung.springtdd.models.DTO.CoursePrice;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.DTO.StudentSnapshot;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What a student would pay for a list of courses, priced by {@link CoursePricing} like a registration.
+ * <p>
+ * Quotes are memoized per student ({@code registration.quotes.*}): the ongoing course count and the
+ * list prices of the courses the student asked about. A memo is only used with the schedule it was
+ * counted from; {@link StudentScheduleIndex} replaces a student's schedule on every register and
+ * unregister, which invalidates the memo. It also ends when the next registered course starts or
+ * ends, and after the ttl, so a changed course price shows up eventually. A miss costs one query for
+ * the list prices of the courses not memoized yet; the ongoing count comes from the schedule index.
+ * At most {@code max-courses-per-student} prices are memoized per student, the rest are read every time.
+ * <p>
+ * Courses that have started are answered with {@code COURSE_STARTED} instead of a price, as register
+ * would reject them: {@link CourseLifecycleTracker} first, then the memoized start time.
+ */
+@Service
+public class PriceQuoteService {
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Autowired
+    private CourseLifecycleTracker courseLifecycleTracker;
+
+    @Autowired
+    private CoursePricing coursePricing;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${registration.quotes.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${registration.quotes.max-students:10000}")
+    private long maxStudents;
+
+    @Value("${registration.quotes.max-courses-per-student:1000}")
+    private int maxCoursesPerStudent;
+
+    private Cache<Long, StudentQuotes> quotes;
+
+    private static final class StudentQuotes {
+        private final StudentSchedule schedule;
+        private final int ongoingCourses;
+        private final LocalDateTime validUntil;
+        private final Map<Long, CoursePrice> coursePrices = new ConcurrentHashMap<>();
+
+        private StudentQuotes(StudentSchedule schedule, LocalDateTime now) {
+            this.schedule = schedule;
+            this.ongoingCourses = schedule.countOngoing(now);
+            this.validUntil = schedule.nextOngoingChange(now);
+        }
+
+        private boolean isValid(StudentSchedule current, LocalDateTime now) {
+            return schedule == current && (validUntil == null || now.isBefore(validUntil));
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        quotes = Caffeine.newBuilder()
+                .maximumSize(maxStudents)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, quotes, "price_quotes");
+    }
+
+    /**
+     * @return one quote per distinct course id, in request order
+     */
+    public List<PriceQuote> quote(String email, List<Long> courseIds) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new RegistrationRejectedException(ErrorCode.NO_COURSES_TO_QUOTE);
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(courseIds);
+        if (requestedIds.contains(null)) {
+            throw new RegistrationRejectedException(ErrorCode.INVALID_REQUEST);
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        StudentSnapshot student = studentRepository.findSnapshotByEmail(email)
+                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.STUDENT_NOT_FOUND));
+
+        StudentSchedule schedule = studentScheduleIndex.schedule(student.id());
+        StudentQuotes memo = quotes.getIfPresent(student.id());
+        if (memo == null || !memo.isValid(schedule, now)) {
+            memo = new StudentQuotes(schedule, now);
+            quotes.put(student.id(), memo);
+        }
+
+        Map<Long, CoursePrice> coursePrices = new HashMap<>();
+        List<Long> unknownIds = new ArrayList<>();
+        for (Long courseId : requestedIds) {
+            CoursePrice coursePrice = memo.coursePrices.get(courseId);
+            if (coursePrice != null) {
+                coursePrices.put(courseId, coursePrice);
+            } else {
+                unknownIds.add(courseId);
+            }
+        }
+        if (!unknownIds.isEmpty()) {
+            // Courses that don't exist are not memoized, they are asked for again next time
+            for (CoursePrice coursePrice : courseRepository.findPrices(unknownIds)) {
+                coursePrices.put(coursePrice.getId(), coursePrice);
+                if (memo.coursePrices.size() < maxCoursesPerStudent) {
+                    memo.coursePrices.put(coursePrice.getId(), coursePrice);
+                }
+            }
+        }
+
+        boolean discounted = coursePricing.isDiscounted(memo.ongoingCourses);
+        List<PriceQuote> results = new ArrayList<>(requestedIds.size());
+        for (Long courseId : requestedIds) {
+            CoursePrice coursePrice = coursePrices.get(courseId);
+            if (coursePrice == null) {
+                results.add(rejected(courseId, PriceQuote.Status.COURSE_NOT_FOUND, ErrorCode.COURSE_NOT_FOUND));
+            } else if (courseLifecycleTracker.hasStarted(courseId) || coursePrice.getStartTime().isBefore(now)) {
+                results.add(rejected(courseId, PriceQuote.Status.COURSE_STARTED, ErrorCode.COURSE_STARTED));
+            } else {
+                results.add(PriceQuote.builder()
+                        .courseId(courseId)
+                        .status(PriceQuote.Status.QUOTED)
+                        .listPrice(coursePrice.getPrice())
+                        .price(coursePricing.price(coursePrice.getPrice(), memo.ongoingCourses))
+                        .discounted(discounted)
+                        .build());
+            }
+        }
+        return results;
+    }
+
+    private static PriceQuote rejected(Long courseId, PriceQuote.Status status, ErrorCode code) {
+        return PriceQuote.builder()
+                .courseId(courseId)
+                .status(status)
+                .message(code.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,249 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.metrics.RegistrationMetrics;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.reactive.ReactiveCourse;
+import com.samsung.springtdd.models.reactive.ReactiveRegistration;
+import com.samsung.springtdd.models.reactive.ReactiveStudent;
+import com.samsung.springtdd.models.repository.reactive.PooledIdGenerator;
+import com.samsung.springtdd.models.repository.reactive.ReactiveCourseRepository;
+import com.samsung.springtdd.models.repository.reactive.ReactiveRegistrationRepository;
+import com.samsung.springtdd.models.repository.reactive.ReactiveStudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.samsung.springtdd.metrics.RegistrationMetrics.REGISTER;
+import static com.samsung.springtdd.metrics.RegistrationMetrics.UNREGISTER;
+
+/**
+ * {@link RegistrationService#register} and {@link RegistrationService#unregister} on R2DBC, for the
+ * reactive profile. The rules, rejections and metrics are the same; no thread waits for the database.
+ * <p>
+ * The student and the course are looked up concurrently, each on its own pooled connection, and so
+ * are the duplicate, overlap and ongoing course checks once both are known. Only the seat and the
+ * insert run in a transaction. The in-memory checks (sold out, course started, queued registration)
+ * and the student schedules are shared with the blocking stack; the schedules are only updated here,
+ * not read, since a miss would load them over JDBC.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveRegistrationService {
+    @Autowired
+    private ReactiveStudentRepository studentRepository;
+
+    @Autowired
+    private ReactiveCourseRepository courseRepository;
+
+    @Autowired
+    private ReactiveRegistrationRepository registrationRepository;
+
+    @Autowired
+    @Qualifier("registrationIdGenerator")
+    private PooledIdGenerator registrationIdGenerator;
+
+    @Autowired
+    @Qualifier("reactiveTransactionalOperator")
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private RegistrationWriteBehind registrationWriteBehind;
+
+    @Autowired
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Autowired
+    private CourseLifecycleTracker courseLifecycleTracker;
+
+    @Autowired
+    private CoursePricing coursePricing;
+
+    @Autowired
+    private ConflictRetryPolicy conflictRetryPolicy;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${registration.reject-overlapping-courses:false}")
+    private boolean rejectOverlappingCourses;
+
+    /**
+     * @return the student's upcoming courses including the new one
+     */
+    public Mono<List<CourseSummary>> register(String email, Long courseId) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return conflictRetryPolicy.execute(REGISTER, doRegister(email, courseId))
+                    .doOnSuccess(courses -> registrationMetrics.success(REGISTER, start))
+                    .doOnError(IllegalArgumentException.class, e -> registrationMetrics.rejected(REGISTER, start, e))
+                    .doOnError(RegistrationConflictException.class, e -> registrationMetrics.conflict(REGISTER, start));
+        });
+    }
+
+    public Mono<Void> unregister(Long courseId, String email) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return conflictRetryPolicy.execute(UNREGISTER, doUnregister(courseId, email))
+                    .doOnSuccess(done -> registrationMetrics.success(UNREGISTER, start))
+                    .doOnError(IllegalArgumentException.class, e -> registrationMetrics.rejected(UNREGISTER, start, e))
+                    .doOnError(RegistrationConflictException.class, e -> registrationMetrics.conflict(UNREGISTER, start));
+        });
+    }
+
+    private Mono<List<CourseSummary>> doRegister(String email, Long courseId) {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now(clock);
+            if (seatAllocator.isSoldOut(courseId)) {
+                return Mono.error(new RegistrationRejectedException(ErrorCode.COURSE_FULL));
+            }
+            if (courseLifecycleTracker.hasStarted(courseId)) {
+                return Mono.error(new RegistrationRejectedException(ErrorCode.COURSE_STARTED));
+            }
+            if (registrationWriteBehind.isPending(email, courseId)) {
+                return Mono.error(new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED));
+            }
+            return Mono.zip(optional(studentRepository.findByEmail(email)), optional(courseRepository.findById(courseId)))
+                    .flatMap(found -> {
+                        ReactiveStudent student = found.getT1()
+                                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.STUDENT_NOT_FOUND));
+                        ReactiveCourse course = found.getT2()
+                                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.COURSE_NOT_FOUND));
+                        courseLifecycleTracker.trackIfUnknown(courseId, course.getStartTime(), course.getEndTime());
+                        if (course.getStartTime().isBefore(now)) {
+                            throw new RegistrationRejectedException(ErrorCode.COURSE_STARTED);
+                        }
+                        return checkAndInsert(student, course, now);
+                    });
+        });
+    }
+
+    private Mono<List<CourseSummary>> checkAndInsert(ReactiveStudent student, ReactiveCourse course, LocalDateTime now) {
+        Long studentId = student.getId();
+        Long courseId = course.getId();
+        Mono<Long> overlapping = rejectOverlappingCourses
+                ? registrationRepository.countOverlapping(studentId, course.getStartTime(), course.getEndTime())
+                : Mono.just(0L);
+        return Mono.zip(registrationRepository.existsByStudentIdAndCourseId(studentId, courseId),
+                        overlapping,
+                        registrationRepository.countOngoing(studentId, now),
+                        registrationRepository.findUpcomingCourses(studentId, now).collectList())
+                .flatMap(checks -> {
+                    if (checks.getT1()) {
+                        throw new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED);
+                    }
+                    if (checks.getT2() > 0) {
+                        throw new RegistrationRejectedException(ErrorCode.COURSE_OVERLAPS);
+                    }
+                    if (course.getCapacity() != null && course.getSeatsTaken() >= course.getCapacity()) {
+                        seatAllocator.markSoldOut(courseId);
+                        throw new RegistrationRejectedException(ErrorCode.COURSE_FULL);
+                    }
+                    ReactiveRegistration registration = ReactiveRegistration.builder()
+                            .studentId(studentId)
+                            .courseId(courseId)
+                            .price(coursePricing.price(course.getPrice(), checks.getT3().intValue()))
+                            .registeredDate(now)
+                            .build();
+                    return registrationIdGenerator.nextId()
+                            .flatMap(id -> {
+                                registration.setId(id);
+                                return inTransaction(reserveAndInsert(registration));
+                            })
+                            .onErrorMap(DataIntegrityViolationException.class,
+                                    e -> new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED))
+                            .map(saved -> {
+                                registered(studentId, course);
+                                List<CourseSummary> futureCourses = new ArrayList<>(checks.getT4().size() + 1);
+                                futureCourses.addAll(checks.getT4());
+                                futureCourses.add(new CourseSummary(courseId, course.getName(), course.getStartTime(),
+                                        course.getEndTime(), course.getPrice()));
+                                return futureCourses;
+                            });
+                });
+    }
+
+    private Mono<ReactiveRegistration> reserveAndInsert(ReactiveRegistration registration) {
+        Long courseId = registration.getCourseId();
+        return courseRepository.reserveSeat(courseId).flatMap(reserved -> {
+            if (reserved == 0) {
+                seatAllocator.markSoldOut(courseId);
+                return Mono.error(new RegistrationRejectedException(ErrorCode.COURSE_FULL));
+            }
+            return registrationRepository.save(registration);
+        });
+    }
+
+    private Mono<Void> doUnregister(Long courseId, String email) {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now(clock);
+            if (courseLifecycleTracker.hasStarted(courseId)) {
+                return Mono.error(new RegistrationRejectedException(ErrorCode.COURSE_STARTED, RegistrationService.UNREGISTER_STARTED_MESSAGE));
+            }
+            return Mono.zip(optional(studentRepository.findByEmail(email)), optional(courseRepository.findById(courseId)))
+                    .flatMap(found -> {
+                        ReactiveStudent student = found.getT1()
+                                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.STUDENT_NOT_FOUND));
+                        ReactiveCourse course = found.getT2()
+                                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.COURSE_NOT_FOUND));
+                        if (course.getStartTime().isBefore(now)) {
+                            throw new RegistrationRejectedException(ErrorCode.COURSE_STARTED, RegistrationService.UNREGISTER_STARTED_MESSAGE);
+                        }
+                        Mono<Integer> deleteAndRelease = registrationRepository.deleteByStudentIdAndCourseId(student.getId(), courseId)
+                                .flatMap(deleted -> deleted == 0
+                                        ? Mono.error(new RegistrationRejectedException(ErrorCode.REGISTRATION_NOT_FOUND))
+                                        : courseRepository.releaseSeat(courseId));
+                        return inTransaction(deleteAndRelease)
+                                .doOnSuccess(released -> unregistered(student.getId(), courseId))
+                                .then();
+                    });
+        });
+    }
+
+    // R2DBC drivers report a lock wait timeout as a query timeout, JDBC as a lock failure that
+    // ConflictRetryPolicy retries
+    private <T> Mono<T> inTransaction(Mono<T> work) {
+        return transactionalOperator.transactional(work)
+                .onErrorMap(QueryTimeoutException.class, e -> new CannotAcquireLockException(e.getMessage(), e));
+    }
+
+    /**
+     * Called after commit. Outside a Spring transaction the schedule index applies the change right away.
+     */
+    private void registered(Long studentId, ReactiveCourse course) {
+        studentScheduleIndex.added(studentId, Course.builder()
+                .id(course.getId())
+                .startTime(course.getStartTime())
+                .endTime(course.getEndTime())
+                .build());
+    }
+
+    private void unregistered(Long studentId, Long courseId) {
+        seatAllocator.clearSoldOut(courseId);
+        studentScheduleIndex.removed(studentId, courseId);
+    }
+
+    private static <T> Mono<Optional<T>> optional(Mono<T> lookup) {
+        return lookup.map(Optional::of).defaultIfEmpty(Optional.empty());
+    }
+}
@@ -0,0 +1,13 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.ErrorCode;
+
+/**
+ * Thrown when a registration write kept losing races with concurrent writes after all attempts of
+ * {@link ConflictRetryPolicy}.
+ */
+public class RegistrationConflictException extends RuntimeException {
+    public RegistrationConflictException(Throwable cause) {
+        super(ErrorCode.REGISTRATION_CONFLICT.getMessage(), cause);
+    }
+}
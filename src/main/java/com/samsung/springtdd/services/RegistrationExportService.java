@@ -0,0 +1,167 @@
+package com.samsung.springtdd.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.DTO.RosterEntry;
+import com.samsung.springtdd.models.DTO.ScheduleEntry;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes course rosters and student schedules straight from a database cursor to the response, one
+ * row at a time, so memory use does not depend on how many registrations are exported.
+ */
+@Service
+public class RegistrationExportService {
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+        CSV(MediaType.parseMediaType("text/csv"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported format");
+        }
+    }
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final List<String> ROSTER_COLUMNS = List.of(
+            "registrationId", "studentId", "email", "firstName", "lastName", "price", "registeredDate");
+    private static final List<Function<RosterEntry, Object>> ROSTER_VALUES = List.of(
+            RosterEntry::getRegistrationId, RosterEntry::getStudentId, RosterEntry::getEmail, RosterEntry::getFirstName,
+            RosterEntry::getLastName, RosterEntry::getPrice, RosterEntry::getRegisteredDate);
+
+    private static final List<String> SCHEDULE_COLUMNS = List.of(
+            "registrationId", "courseId", "courseName", "startTime", "endTime", "price", "registeredDate");
+    private static final List<Function<ScheduleEntry, Object>> SCHEDULE_VALUES = List.of(
+            ScheduleEntry::getRegistrationId, ScheduleEntry::getCourseId, ScheduleEntry::getCourseName,
+            ScheduleEntry::getStartTime, ScheduleEntry::getEndTime, ScheduleEntry::getPrice, ScheduleEntry::getRegisteredDate);
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Checked before the response is committed, a missing course still gets a normal error response.
+     */
+    public void requireCourse(Long courseId) {
+        if (courseRepository.findSnapshotById(courseId).isEmpty()) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_NOT_FOUND);
+        }
+    }
+
+    public void requireStudent(String email) {
+        if (studentRepository.findSnapshotByEmail(email).isEmpty()) {
+            throw new RegistrationRejectedException(ErrorCode.STUDENT_NOT_FOUND);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeRoster(Long courseId, Format format, OutputStream out) throws IOException {
+        try (Stream<RosterEntry> rows = registrationRepository.streamRoster(courseId)) {
+            write(rows, format, ROSTER_COLUMNS, ROSTER_VALUES, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeSchedule(String email, Format format, OutputStream out) throws IOException {
+        try (Stream<ScheduleEntry> rows = registrationRepository.streamSchedule(email)) {
+            write(rows, format, SCHEDULE_COLUMNS, SCHEDULE_VALUES, out);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, Format format, List<String> columns, List<Function<T, Object>> values,
+                           OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Iterator<T> iterator = rows.iterator();
+        if (format == Format.NDJSON) {
+            // Flushing is left to flushPeriodically and closing the response stream to the container
+            ObjectWriter jsonWriter = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int count = 0;
+            try (SequenceWriter json = jsonWriter.writeValues(writer)) {
+                while (iterator.hasNext()) {
+                    json.write(iterator.next());
+                    flushPeriodically(++count, writer);
+                }
+            }
+            if (count > 0) {
+                writer.write('\n');
+            }
+        } else {
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+            for (int count = 1; iterator.hasNext(); count++) {
+                T row = iterator.next();
+                for (int i = 0; i < values.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csv(values.get(i).apply(row)));
+                }
+                writer.write('\n');
+                flushPeriodically(count, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void flushPeriodically(int count, Writer writer) throws IOException {
+        if (count % FLUSH_EVERY == 0) {
+            writer.flush();
+        }
+    }
+
+    private static String csv(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
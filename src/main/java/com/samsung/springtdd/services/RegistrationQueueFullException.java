@@ -0,0 +1,12 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.ErrorCode;
+
+/**
+ * Thrown when the write-behind queue stays full for longer than the configured offer timeout.
+ */
+public class RegistrationQueueFullException extends RuntimeException {
+    public RegistrationQueueFullException() {
+        super(ErrorCode.QUEUE_FULL.getMessage());
+    }
+}
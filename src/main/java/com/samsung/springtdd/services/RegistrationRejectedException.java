@@ -0,0 +1,34 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.ErrorCode;
+
+/**
+ * An expected rejection of a registration request, answered with 400 and its {@link ErrorCode}.
+ * <p>
+ * Rejections are a large share of the traffic during a registration rush and are never logged, so no
+ * stack trace is captured. Walking the stack was most of the cost of a rejection, allocating the
+ * exception itself is not. Instances are not shared: the constructors of
+ * {@link IllegalArgumentException} can't turn off suppressed exceptions, which a shared instance
+ * would collect from every caller.
+ */
+public class RegistrationRejectedException extends IllegalArgumentException {
+    private final ErrorCode code;
+
+    public RegistrationRejectedException(ErrorCode code) {
+        this(code, code.getMessage());
+    }
+
+    public RegistrationRejectedException(ErrorCode code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -1,21 +1,46 @@
 package com.samsung.springtdd.services;
 
+import com.samsung.springtdd.metrics.RegistrationMetrics;
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSnapshot;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
+import com.samsung.springtdd.models.DTO.StudentSnapshot;
 import com.samsung.springtdd.models.Registration;
 import com.samsung.springtdd.models.Student;
 import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationContext;
 import com.samsung.springtdd.models.repository.RegistrationRepository;
 import com.samsung.springtdd.models.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.samsung.springtdd.metrics.RegistrationMetrics.REGISTER;
+import static com.samsung.springtdd.metrics.RegistrationMetrics.REGISTER_ASYNC;
+import static com.samsung.springtdd.metrics.RegistrationMetrics.REGISTER_BATCH;
+import static com.samsung.springtdd.metrics.RegistrationMetrics.UNREGISTER;
+
 @Service
 public class RegistrationService {
+    static final String UNREGISTER_STARTED_MESSAGE = "Cannot unregister from a course that has already started";
+
     @Autowired
     private StudentRepository studentRepository;
 
@@ -25,63 +50,347 @@ public class RegistrationService {
     @Autowired
     private RegistrationRepository registrationRepository;
 
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private RegistrationWriteBehind registrationWriteBehind;
+
+    @Autowired
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Autowired
+    private CourseLifecycleTracker courseLifecycleTracker;
+
+    @Autowired
+    private CoursePricing coursePricing;
+
+    @Autowired
+    private ConflictRetryPolicy conflictRetryPolicy;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
     @Autowired
     private Clock clock;
 
-    public List<Course> register(String email, Long courseId) {
+    @Value("${registration.reject-overlapping-courses:false}")
+    private boolean rejectOverlappingCourses;
+
+    /**
+     * Each attempt runs in its own transaction, see {@link ConflictRetryPolicy}.
+     */
+    public List<CourseSummary> register(String email, Long courseId) {
+        long start = System.nanoTime();
+        try {
+            List<CourseSummary> courses = conflictRetryPolicy.execute(REGISTER, () -> doRegister(email, courseId));
+            registrationMetrics.success(REGISTER, start);
+            return courses;
+        } catch (IllegalArgumentException e) {
+            registrationMetrics.rejected(REGISTER, start, e);
+            throw e;
+        } catch (RegistrationConflictException e) {
+            registrationMetrics.conflict(REGISTER, start);
+            throw e;
+        }
+    }
+
+    /**
+     * Same rules as {@link #register}, but the registration is queued for the write-behind flusher
+     * instead of inserted, and the returned ticket can be polled with {@link #findTicket}.
+     */
+    @Transactional
+    public RegistrationTicket registerAsync(String email, Long courseId) {
+        long start = System.nanoTime();
+        try {
+            RegistrationTicket ticket = doRegisterAsync(email, courseId);
+            registrationMetrics.success(REGISTER_ASYNC, start);
+            return ticket;
+        } catch (IllegalArgumentException e) {
+            registrationMetrics.rejected(REGISTER_ASYNC, start, e);
+            throw e;
+        }
+    }
+
+    public Optional<RegistrationTicket> findTicket(String ticketId) {
+        return registrationWriteBehind.findTicket(ticketId);
+    }
+
+    /**
+     * Each attempt runs in its own transaction, see {@link ConflictRetryPolicy}.
+     */
+    public List<BatchRegistrationResult> registerBatch(String email, List<Long> courseIds) {
+        long start = System.nanoTime();
+        try {
+            List<BatchRegistrationResult> results = conflictRetryPolicy.execute(REGISTER_BATCH, () -> doRegisterBatch(email, courseIds));
+            registrationMetrics.success(REGISTER_BATCH, start);
+            return results;
+        } catch (IllegalArgumentException e) {
+            registrationMetrics.rejected(REGISTER_BATCH, start, e);
+            throw e;
+        } catch (RegistrationConflictException e) {
+            registrationMetrics.conflict(REGISTER_BATCH, start);
+            throw e;
+        }
+    }
+
+    /**
+     * Each attempt runs in its own transaction, see {@link ConflictRetryPolicy}.
+     */
+    public void unregister(Long courseId, String email) {
+        long start = System.nanoTime();
+        try {
+            conflictRetryPolicy.execute(UNREGISTER, () -> doUnregister(courseId, email));
+            registrationMetrics.success(UNREGISTER, start);
+        } catch (IllegalArgumentException e) {
+            registrationMetrics.rejected(UNREGISTER, start, e);
+            throw e;
+        } catch (RegistrationConflictException e) {
+            registrationMetrics.conflict(UNREGISTER, start);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the student's upcoming courses including the new one
+     */
+    private List<CourseSummary> doRegister(String email, Long courseId) {
         LocalDateTime now = LocalDateTime.now(clock);
+        List<RegistrationContext> rows = loadContext(REGISTER, email, courseId, now);
+        Registration registration = prepareRegistration(REGISTER, rows, email, now);
+        try {
+            // Flushed here, with a pooled id the insert would otherwise wait for commit and escape this catch
+            registrationMetrics.step(REGISTER, "insert", () -> registrationRepository.saveAndFlush(registration));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request registered the same course first
+            throw new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED);
+        }
+        studentScheduleIndex.added(registration.getStudent().getId(), registration.getCourse());
 
-        Student student = studentRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
+        List<CourseSummary> futureCourses = new ArrayList<>(rows.size() + 1);
+        for (RegistrationContext row : rows) {
+            CourseSummary upcoming = row.getUpcomingCourse();
+            if (upcoming != null) {
+                futureCourses.add(upcoming);
+            }
+        }
+        Course course = registration.getCourse();
+        futureCourses.add(new CourseSummary(course.getId(), course.getName(), course.getStartTime(), course.getEndTime(), course.getPrice()));
+        return futureCourses;
+    }
 
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+    private RegistrationTicket doRegisterAsync(String email, Long courseId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<RegistrationContext> rows = loadContext(REGISTER_ASYNC, email, courseId, now);
+        Registration registration = prepareRegistration(REGISTER_ASYNC, rows, email, now);
+        // Queue full rolls back this transaction and with it the seat reservation
+        RegistrationTicket ticket = registrationMetrics.step(REGISTER_ASYNC, "enqueue", () -> registrationWriteBehind.enqueue(registration));
+        // Counted right away so the student's next request sees it, removed again if the flush fails
+        studentScheduleIndex.added(registration.getStudent().getId(), registration.getCourse());
+        return ticket;
+    }
+
+    private List<RegistrationContext> loadContext(String operation, String email, Long courseId, LocalDateTime now) {
+        // Rush on a full course: reject without touching the database
+        if (seatAllocator.isSoldOut(courseId)) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_FULL);
+        }
+        if (courseLifecycleTracker.hasStarted(courseId)) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_STARTED);
+        }
+        // Checked before the first read of the transaction: a queued registration flushed after this
+        // check is committed before the context query runs (and before MySQL takes its snapshot), so
+        // the query reports it as already registered
+        if (registrationWriteBehind.isPending(email, courseId)) {
+            throw new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED);
+        }
+
+        List<RegistrationContext> rows = registrationMetrics.step(operation, "context",
+                () -> registrationRepository.findRegistrationContext(email, courseId, now));
+        if (rows.isEmpty()) {
+            throw new RegistrationRejectedException(ErrorCode.STUDENT_NOT_FOUND);
+        }
+        return rows;
+    }
+
+    /**
+     * Applies the start, duplicate, overlap and capacity rules, reserves the seat and prices the registration.
+     */
+    private Registration prepareRegistration(String operation, List<RegistrationContext> rows, String email, LocalDateTime now) {
+        RegistrationContext context = rows.get(0);
+        Long courseId = context.getCourseId();
+        if (courseId == null) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_NOT_FOUND);
+        }
+        courseLifecycleTracker.trackIfUnknown(courseId, context.getCourseStartTime(), context.getCourseEndTime());
+
+        Course course = Course.builder()
+                .id(courseId)
+                .name(context.getCourseName())
+                .startTime(context.getCourseStartTime())
+                .endTime(context.getCourseEndTime())
+                .price(context.getCoursePrice())
+                .capacity(context.getCourseCapacity())
+                .seatsTaken(context.getCourseSeatsTaken())
+                // Without a version Hibernate would take the course for a new entity when inserting the registration
+                .version(context.getCourseVersion())
+                .build();
 
         if (course.getStartTime().isBefore(now)) {
-            throw new IllegalArgumentException("Course has already started");
+            throw new RegistrationRejectedException(ErrorCode.COURSE_STARTED);
         }
 
-        if (registrationRepository.findByStudentAndCourse(student, course).isPresent()) {
-            throw new IllegalArgumentException("Already registered for this course");
+        if (Boolean.TRUE.equals(context.getAlreadyRegistered())) {
+            throw new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED);
         }
 
-        int ongoingCourses = registrationRepository.countByStudentAndCourseStartTimeBeforeAndCourseEndTimeAfter(student, now, now);
+        StudentSchedule schedule = registrationMetrics.step(operation, "schedule",
+                () -> studentScheduleIndex.schedule(context.getStudentId()));
+        if (rejectOverlappingCourses && schedule.overlaps(course.getStartTime(), course.getEndTime())) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_OVERLAPS);
+        }
 
-        long price = course.getPrice();
-        if (ongoingCourses >= 2) {
-            price = (long) (price * 0.75);
+        if (course.getCapacity() != null && course.getSeatsTaken() >= course.getCapacity()) {
+            seatAllocator.markSoldOut(courseId);
+            throw new RegistrationRejectedException(ErrorCode.COURSE_FULL);
         }
+        if (!registrationMetrics.step(operation, "seat", () -> seatAllocator.tryReserve(courseId))) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_FULL);
+        }
+        course.setSeatsTaken(course.getSeatsTaken() + 1);
 
-        Registration registration = Registration.builder()
-                .student(student)
+        return Registration.builder()
+                .student(Student.builder().id(context.getStudentId()).email(email).build())
                 .course(course)
-                .price(price)
+                .price(coursePricing.price(course.getPrice(), schedule.countOngoing(now)))
                 .registeredDate(now)
                 .build();
-        registrationRepository.save(registration);
+    }
+
+    private List<BatchRegistrationResult> doRegisterBatch(String email, List<Long> courseIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new RegistrationRejectedException(ErrorCode.NO_COURSES);
+        }
 
-        List<Registration> futureRegistrations = registrationRepository.findByStudentAndCourseStartTimeAfter(student, now);
-        return futureRegistrations.stream()
-                .map(Registration::getCourse)
-                .collect(Collectors.toList());
+        Set<Long> requestedIds = new LinkedHashSet<>(courseIds);
+        // Before any read, for the same reason as in loadContext
+        Set<Long> pendingIds = requestedIds.stream()
+                .filter(courseId -> registrationWriteBehind.isPending(email, courseId))
+                .collect(Collectors.toSet());
+
+        Student student = registrationMetrics.step(REGISTER_BATCH, "student", () -> studentRepository.findSnapshotByEmail(email))
+                .map(RegistrationService::student)
+                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.STUDENT_NOT_FOUND));
+
+        Map<Long, Course> courses = registrationMetrics.step(REGISTER_BATCH, "courses", () -> courseRepository.findAllById(requestedIds)).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Set<Long> registeredIds = registrationMetrics.step(REGISTER_BATCH, "duplicates",
+                () -> registrationRepository.findRegisteredCourseIds(student, requestedIds));
+
+        // Ongoing courses are evaluated once so every course in the cart gets the same discount. The
+        // schedule grows with the cart, so two courses of one cart can't overlap either.
+        StudentSchedule schedule = registrationMetrics.step(REGISTER_BATCH, "schedule",
+                () -> studentScheduleIndex.schedule(student.getId()));
+        int ongoingCourses = schedule.countOngoing(now);
+
+        Map<Long, BatchRegistrationResult> rejections = new HashMap<>();
+        Map<Long, Integer> seats = new HashMap<>();
+        for (Long courseId : requestedIds) {
+            Course course = courses.get(courseId);
+            if (course == null) {
+                rejections.put(courseId, rejected(courseId, BatchRegistrationResult.Status.COURSE_NOT_FOUND, "Course not found"));
+            } else if (course.getStartTime().isBefore(now)) {
+                rejections.put(courseId, rejected(courseId, BatchRegistrationResult.Status.COURSE_STARTED, "Course has already started"));
+            } else if (registeredIds.contains(courseId) || pendingIds.contains(courseId)) {
+                rejections.put(courseId, rejected(courseId, BatchRegistrationResult.Status.ALREADY_REGISTERED, "Already registered for this course"));
+            } else if (rejectOverlappingCourses && schedule.overlaps(course.getStartTime(), course.getEndTime())) {
+                rejections.put(courseId, rejected(courseId, BatchRegistrationResult.Status.COURSE_OVERLAPS, "Course overlaps another registered course"));
+            } else if (seatAllocator.isSoldOut(courseId)
+                    || (course.getCapacity() != null && course.getSeatsTaken() >= course.getCapacity())) {
+                // Before the schedule grows, a course already seen full doesn't block its overlaps
+                rejections.put(courseId, rejected(courseId, BatchRegistrationResult.Status.COURSE_FULL, "Course is full"));
+            } else {
+                seats.put(courseId, 1);
+                schedule = schedule.with(courseId, course.getStartTime(), course.getEndTime());
+            }
+        }
+        // All in one go in course id order, the lock order of every seat update, so two carts with
+        // the same courses in a different order can't deadlock
+        Set<Long> fullIds = registrationMetrics.step(REGISTER_BATCH, "seats", () -> seatAllocator.tryReserveAll(seats));
+
+        List<Registration> registrations = new ArrayList<>();
+        List<BatchRegistrationResult> results = new ArrayList<>(requestedIds.size());
+        for (Long courseId : requestedIds) {
+            if (rejections.containsKey(courseId)) {
+                results.add(rejections.get(courseId));
+            } else if (fullIds.contains(courseId)) {
+                results.add(rejected(courseId, BatchRegistrationResult.Status.COURSE_FULL, "Course is full"));
+            } else {
+                Course course = courses.get(courseId);
+                long price = coursePricing.price(course.getPrice(), ongoingCourses);
+                registrations.add(new Registration(student, course, price, now));
+                results.add(BatchRegistrationResult.builder()
+                        .courseId(courseId)
+                        .status(BatchRegistrationResult.Status.REGISTERED)
+                        .price(price)
+                        .build());
+            }
+        }
+
+        try {
+            registrationMetrics.step(REGISTER_BATCH, "insert", () -> registrationRepository.insertAll(registrations));
+        } catch (DataIntegrityViolationException e) {
+            throw new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED);
+        }
+        registrations.forEach(registration -> studentScheduleIndex.added(student.getId(), registration.getCourse()));
+        return results;
     }
 
-    public void unregister(Long courseId, String email) {
-        LocalDateTime now = LocalDateTime.now();
+    private void doUnregister(Long courseId, String email) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (courseLifecycleTracker.hasStarted(courseId)) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_STARTED, UNREGISTER_STARTED_MESSAGE);
+        }
 
-        Student student = studentRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
+        Student student = registrationMetrics.step(UNREGISTER, "student", () -> studentRepository.findSnapshotByEmail(email))
+                .map(RegistrationService::student)
+                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.STUDENT_NOT_FOUND));
 
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+        CourseSnapshot course = registrationMetrics.step(UNREGISTER, "course", () -> courseRepository.findSnapshotById(courseId))
+                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.COURSE_NOT_FOUND));
 
-        if (course.getStartTime().isBefore(now)) {
-            throw new IllegalArgumentException("Cannot unregister from a course that has already started");
+        if (course.startTime().isBefore(now)) {
+            throw new RegistrationRejectedException(ErrorCode.COURSE_STARTED, UNREGISTER_STARTED_MESSAGE);
         }
 
-        Registration registration = registrationRepository.findByStudentAndCourse(student, course)
-                .orElseThrow(() -> new IllegalArgumentException("Registration not found"));
+        Registration registration = registrationMetrics.step(UNREGISTER, "registration",
+                        () -> registrationRepository.findByStudentAndCourseId(student, courseId))
+                .orElseThrow(() -> new RegistrationRejectedException(ErrorCode.REGISTRATION_NOT_FOUND));
 
-        registrationRepository.delete(registration);
+        // Flushed so a concurrent unregister of the same registration fails its version check here,
+        // before the seat is released a second time
+        registrationMetrics.step(UNREGISTER, "delete", () -> {
+            registrationRepository.delete(registration);
+            registrationRepository.flush();
+        });
+        registrationMetrics.step(UNREGISTER, "seat", () -> seatAllocator.release(courseId));
+        studentScheduleIndex.removed(student.getId(), courseId);
+    }
+
+    /**
+     * The cached snapshot as a detached student, enough for the queries and inserts that reference it.
+     */
+    private static Student student(StudentSnapshot snapshot) {
+        return Student.builder().id(snapshot.id()).email(snapshot.email()).build();
+    }
+
+    private BatchRegistrationResult rejected(Long courseId, BatchRegistrationResult.Status status, String message) {
+        return BatchRegistrationResult.builder()
+                .courseId(courseId)
+                .status(status)
+                .message(message)
+                .build();
     }
 }
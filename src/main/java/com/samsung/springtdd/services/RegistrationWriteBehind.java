@@ -0,0 +1,251 @@
+package com.samsung.springtdd.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind mode for registrations ({@code registration.write-behind.enabled=true}).
+ * <p>
+ * Requests are validated and their seat reserved as usual, then the {@link Registration} is put on a
+ * bounded queue and the caller gets a ticket. A single flusher thread drains the queue and writes up to
+ * {@code batch-size} registrations per transaction with one batched insert. Registrations that are
+ * queued but not yet flushed are tracked in memory so a second request for the same course is still
+ * rejected as a duplicate. They are keyed by email, so a request can check them before it reads the
+ * registrations table: one flushed after that check is already committed when the table is read. On
+ * shutdown the queue is drained after the web server stops accepting requests and before the
+ * connection pool closes.
+ */
+@Slf4j
+@Component
+public class RegistrationWriteBehind implements SmartLifecycle {
+    private record QueuedRegistration(String ticketId, Registration registration) {
+    }
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${registration.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${registration.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${registration.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${registration.write-behind.max-delay:20ms}")
+    private Duration maxDelay;
+
+    @Value("${registration.write-behind.offer-timeout:100ms}")
+    private Duration offerTimeout;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Cache<String, RegistrationTicket> tickets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+    private BlockingQueue<QueuedRegistration> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public boolean isPending(String email, Long courseId) {
+        return pending.contains(key(email, courseId));
+    }
+
+    /**
+     * Queues a validated registration. Waits up to {@code offer-timeout} for room, which is the
+     * backpressure on callers while the flusher catches up.
+     */
+    public RegistrationTicket enqueue(Registration registration) {
+        if (!running) {
+            throw new IllegalStateException("Write-behind registration is not running");
+        }
+        String key = key(registration);
+        if (!pending.add(key)) {
+            throw new RegistrationRejectedException(ErrorCode.ALREADY_REGISTERED);
+        }
+
+        RegistrationTicket ticket = RegistrationTicket.builder()
+                .ticketId(UUID.randomUUID().toString())
+                .email(registration.getStudent().getEmail())
+                .courseId(registration.getCourse().getId())
+                .price(registration.getPrice())
+                .registeredDate(registration.getRegisteredDate())
+                .status(RegistrationTicket.Status.QUEUED)
+                .build();
+        tickets.put(ticket.getTicketId(), ticket);
+        try {
+            if (queue.offer(new QueuedRegistration(ticket.getTicketId(), registration), offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return ticket;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.remove(key);
+        tickets.invalidate(ticket.getTicketId());
+        throw new RegistrationQueueFullException();
+    }
+
+    public Optional<RegistrationTicket> findTicket(String ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("registration.write_behind.queue", queue, BlockingQueue::size);
+        running = true;
+        flusher = new Thread(this::flushLoop, "registration-flusher");
+        flusher.start();
+        log.info("Write-behind registration started, queue capacity {}, batch size {}", queueCapacity, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Write-behind registration stopped, queue drained");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stops after the web server (DEFAULT_PHASE - 2048) so nothing is enqueued while draining
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        List<QueuedRegistration> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedRegistration first = queue.poll(maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Flushing {} registrations failed", batch.size(), e);
+                batch.forEach(queued -> fail(queued, "Registration could not be saved"));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<QueuedRegistration> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    registrationRepository.insertAll(batch.stream().map(QueuedRegistration::registration).toList()));
+            batch.forEach(this::complete);
+        } catch (DataIntegrityViolationException e) {
+            // One duplicate fails the whole batch, retry row by row to find it
+            for (QueuedRegistration queued : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            registrationRepository.insertAll(List.of(copy(queued.registration()))));
+                    complete(queued);
+                } catch (DataIntegrityViolationException duplicate) {
+                    fail(queued, "Already registered for this course");
+                } catch (RuntimeException failure) {
+                    // Caught per row, the rows before it are committed and must not be failed with it
+                    log.error("Saving registration {} failed", queued.ticketId(), failure);
+                    fail(queued, "Registration could not be saved");
+                }
+            }
+        }
+    }
+
+    /**
+     * The rolled back batch left its id and version on the registration, persisting it again would
+     * treat it as a detached entity.
+     */
+    private static Registration copy(Registration registration) {
+        return new Registration(registration.getStudent(), registration.getCourse(),
+                registration.getPrice(), registration.getRegisteredDate());
+    }
+
+    private void complete(QueuedRegistration queued) {
+        pending.remove(key(queued.registration()));
+        tickets.asMap().computeIfPresent(queued.ticketId(), (id, ticket) ->
+                ticket.toBuilder().status(RegistrationTicket.Status.REGISTERED).build());
+    }
+
+    private void fail(QueuedRegistration queued, String message) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> seatAllocator.release(queued.registration().getCourse().getId()));
+        } catch (RuntimeException e) {
+            log.error("Releasing the seat of failed registration {} failed", queued.ticketId(), e);
+        }
+        // Not removed by course, a duplicate failed because the student really is registered for it
+        studentScheduleIndex.invalidate(List.of(queued.registration().getStudent().getId()));
+        pending.remove(key(queued.registration()));
+        tickets.asMap().computeIfPresent(queued.ticketId(), (id, ticket) ->
+                ticket.toBuilder().status(RegistrationTicket.Status.FAILED).message(message).build());
+    }
+
+    private static String key(Registration registration) {
+        return key(registration.getStudent().getEmail(), registration.getCourse().getId());
+    }
+
+    private static String key(String email, Long courseId) {
+        // Emails compare case-insensitively in MySQL, so a differently cased duplicate must hit the same key
+        return email.toLowerCase(Locale.ROOT) + ":" + courseId;
+    }
+}
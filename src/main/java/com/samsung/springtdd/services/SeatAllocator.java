@@ -0,0 +1,86 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out course seats without ever overselling.
+ * <p>
+ * The database is the source of truth: a seat is only taken by the conditional update in
+ * {@link CourseRepository#reserveSeat(Long)}, so competing requests only queue behind the row lock of
+ * their own course and a rolled back registration gives its seat back automatically. Once a course is
+ * seen full, further requests for it are rejected from memory for a short while instead of piling up
+ * on that row lock.
+ */
+@Component
+public class SeatAllocator {
+    private static final long SOLD_OUT_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final ConcurrentHashMap<Long, Long> soldOutUntil = new ConcurrentHashMap<>();
+
+    public boolean isSoldOut(Long courseId) {
+        Long until = soldOutUntil.get(courseId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        // Seats may have been released elsewhere, let the next request ask the database again
+        soldOutUntil.remove(courseId, until);
+        return false;
+    }
+
+    /**
+     * Must run inside the registration transaction so the seat is released if the registration fails.
+     */
+    public boolean tryReserve(Long courseId) {
+        if (isSoldOut(courseId)) {
+            return false;
+        }
+        if (courseRepository.reserveSeat(courseId) == 1) {
+            return true;
+        }
+        markSoldOut(courseId);
+        return false;
+    }
+
+    /**
+     * Takes the given number of seats per course in one batch, all or nothing per course. Same
+     * transaction rule as {@link #tryReserve(Long)}.
+     *
+     * @return ids of the courses without enough seats left
+     */
+    public Set<Long> tryReserveAll(Map<Long, Integer> seatsByCourse) {
+        if (seatsByCourse.isEmpty()) {
+            return Set.of();
+        }
+        // Not marked sold out, a course short of several seats may still have one for a single request
+        return courseRepository.reserveSeats(seatsByCourse);
+    }
+
+    public void markSoldOut(Long courseId) {
+        soldOutUntil.put(courseId, System.nanoTime() + SOLD_OUT_RECHECK_NANOS);
+    }
+
+    public void release(Long courseId) {
+        courseRepository.releaseSeat(courseId);
+        clearSoldOut(courseId);
+    }
+
+    /**
+     * For seats released without {@link #release(Long)}, by the reactive stack.
+     */
+    public void clearSoldOut(Long courseId) {
+        soldOutUntil.remove(courseId);
+    }
+}
@@ -0,0 +1,134 @@
+package com.samsung.springtdd.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Immutable time ranges of the courses one student is registered for, as half-open intervals
+ * {@code [start, end)} of epoch microseconds in primitive arrays.
+ * <p>
+ * Intervals are kept sorted by start, with a running maximum of the end times, plus a separately sorted
+ * copy of the end times. Both questions registration asks are then two binary searches:
+ * <ul>
+ *     <li>ongoing at {@code t}: intervals starting before {@code t} minus those already ended at {@code t}</li>
+ *     <li>overlap with {@code [s, e)}: the intervals starting before {@code e} reach past {@code s}</li>
+ * </ul>
+ */
+public final class StudentSchedule {
+    public static final StudentSchedule EMPTY = new StudentSchedule(new long[0], new long[0], new long[0]);
+
+    // Parallel arrays in start order
+    private final long[] courseIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final long[] sortedEnds;
+
+    private StudentSchedule(long[] courseIds, long[] starts, long[] ends) {
+        this.courseIds = courseIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+        }
+        this.sortedEnds = ends.clone();
+        Arrays.sort(sortedEnds);
+    }
+
+    public int size() {
+        return courseIds.length;
+    }
+
+    /**
+     * Courses with {@code start < at < end}, the same condition as the ongoing course count query.
+     */
+    public int countOngoing(LocalDateTime at) {
+        long t = micros(at);
+        return Math.max(0, countBelow(starts, t) - countBelow(sortedEnds, t + 1));
+    }
+
+    /**
+     * The first time after {@code at} at which {@link #countOngoing} can return something else: just
+     * after the next start, or at the next end. {@code null} if no course starts or ends later.
+     */
+    public LocalDateTime nextOngoingChange(LocalDateTime at) {
+        long t = micros(at);
+        long next = Long.MAX_VALUE;
+        int starting = countBelow(starts, t);
+        if (starting < starts.length) {
+            next = starts[starting] + 1;
+        }
+        int ending = countBelow(sortedEnds, t + 1);
+        if (ending < sortedEnds.length) {
+            next = Math.min(next, sortedEnds[ending]);
+        }
+        return next == Long.MAX_VALUE ? null : fromMicros(next);
+    }
+
+    /**
+     * Whether any course shares time with {@code [start, end)}. Touching ranges don't overlap.
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        int startingBefore = countBelow(starts, micros(end));
+        return startingBefore > 0 && maxEnds[startingBefore - 1] > micros(start);
+    }
+
+    /**
+     * Adds or replaces the range of {@code courseId}.
+     */
+    public StudentSchedule with(long courseId, LocalDateTime start, LocalDateTime end) {
+        StudentSchedule base = without(courseId);
+        long s = micros(start);
+        int at = countBelow(base.starts, s);
+        return new StudentSchedule(insert(base.courseIds, at, courseId), insert(base.starts, at, s), insert(base.ends, at, micros(end)));
+    }
+
+    public StudentSchedule without(long courseId) {
+        for (int i = 0; i < courseIds.length; i++) {
+            if (courseIds[i] == courseId) {
+                return new StudentSchedule(remove(courseIds, i), remove(starts, i), remove(ends, i));
+            }
+        }
+        return this;
+    }
+
+    // Number of elements of the sorted array below value
+    private static int countBelow(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long[] insert(long[] values, int at, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(values, at, result, at + 1, values.length - at);
+        return result;
+    }
+
+    private static long[] remove(long[] values, int at) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, at);
+        System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+        return result;
+    }
+}
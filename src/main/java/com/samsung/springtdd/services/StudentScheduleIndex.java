@@ -0,0 +1,176 @@
+package com.samsung.springtdd.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.ScheduleInterval;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Registered course time ranges per student, so registration can count ongoing courses and detect
+ * overlaps without a query.
+ * <p>
+ * Bounded by the total number of intervals ({@code registration.schedule-index.max-intervals}); a student
+ * that was evicted or never loaded is read from {@link RegistrationRepository} on first use. Registration
+ * changes are applied after their transaction commits. Updates only touch students already in the
+ * index, so a concurrent load can't miss them. The index is filled at startup, before requests are
+ * served ({@code registration.schedule-index.warm-up}).
+ * <p>
+ * Writes that don't pass through this instance are not seen: registrations made on another instance,
+ * by direct SQL, or removed by a rollback outside the commit hooks. A student's schedule is therefore
+ * read again at most {@code registration.schedule-index.ttl} after it was loaded, which is how long the
+ * discount, the overlap rule and the price quotes can act on a stale schedule. Local updates don't
+ * push that reload back.
+ * <p>
+ * Course time changes are not tracked, the application has no way to change them.
+ */
+@Slf4j
+@Component
+public class StudentScheduleIndex implements SmartInitializingSingleton {
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${registration.schedule-index.max-intervals:1000000}")
+    private long maxIntervals;
+
+    @Value("${registration.schedule-index.warm-up:true}")
+    private boolean warmUp;
+
+    @Value("${registration.schedule-index.ttl:5m}")
+    private Duration ttl;
+
+    private LoadingCache<Long, StudentSchedule> schedules;
+
+    @PostConstruct
+    void init() {
+        schedules = Caffeine.newBuilder()
+                .maximumWeight(maxIntervals)
+                // One extra unit per student for the entry itself, so students without courses count too
+                .<Long, StudentSchedule>weigher((studentId, schedule) -> 1 + schedule.size())
+                .expireAfter(new Expiry<Long, StudentSchedule>() {
+                    @Override
+                    public long expireAfterCreate(Long studentId, StudentSchedule schedule, long currentTime) {
+                        return ttl.toNanos();
+                    }
+
+                    // Counted from the load, expireAfterWrite would restart with every local update
+                    @Override
+                    public long expireAfterUpdate(Long studentId, StudentSchedule schedule, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long studentId, StudentSchedule schedule, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, schedules, "student_schedules");
+    }
+
+    public StudentSchedule schedule(Long studentId) {
+        return schedules.get(studentId);
+    }
+
+    public void added(Long studentId, Course course) {
+        afterCommit(() -> schedules.asMap().computeIfPresent(studentId,
+                (id, schedule) -> schedule.with(course.getId(), course.getStartTime(), course.getEndTime())));
+    }
+
+    public void removed(Long studentId, Long courseId) {
+        afterCommit(() -> schedules.asMap().computeIfPresent(studentId, (id, schedule) -> schedule.without(courseId)));
+    }
+
+    public void invalidate(Collection<Long> studentIds) {
+        afterCommit(() -> schedules.invalidateAll(studentIds));
+    }
+
+    /**
+     * Runs before the web server starts, so no registration can commit while the index is filled.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!warmUp) {
+            return;
+        }
+        long start = System.nanoTime();
+        Long students = new TransactionTemplate(transactionManager).execute(status -> fill());
+        log.info("Loaded the schedules of {} students in {} ms", students, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long fill() {
+        long students = 0;
+        long weight = 0;
+        try (Stream<ScheduleInterval> intervals = registrationRepository.streamScheduleIntervals()) {
+            Iterator<ScheduleInterval> iterator = intervals.iterator();
+            Long studentId = null;
+            StudentSchedule schedule = StudentSchedule.EMPTY;
+            // Stops at the bound instead of letting the cache evict what it just loaded
+            while (iterator.hasNext() && weight + schedule.size() < maxIntervals) {
+                ScheduleInterval interval = iterator.next();
+                if (!interval.getStudentId().equals(studentId)) {
+                    if (studentId != null) {
+                        schedules.put(studentId, schedule);
+                        students++;
+                        weight += 1 + schedule.size();
+                    }
+                    studentId = interval.getStudentId();
+                    schedule = StudentSchedule.EMPTY;
+                }
+                schedule = schedule.with(interval.getCourseId(), interval.getStartTime(), interval.getEndTime());
+            }
+            // The last student is only complete if the stream is exhausted
+            if (studentId != null && !iterator.hasNext()) {
+                schedules.put(studentId, schedule);
+                students++;
+            }
+        }
+        return students;
+    }
+
+    private StudentSchedule load(Long studentId) {
+        StudentSchedule schedule = StudentSchedule.EMPTY;
+        for (ScheduleInterval interval : registrationRepository.findScheduleIntervals(studentId)) {
+            schedule = schedule.with(interval.getCourseId(), interval.getStartTime(), interval.getEndTime());
+        }
+        return schedule;
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
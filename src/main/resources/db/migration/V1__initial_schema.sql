@@ -0,0 +1,32 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only get the later migrations.
+CREATE TABLE students (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE courses (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255),
+    start_time  DATETIME(6),
+    end_time    DATETIME(6),
+    price       BIGINT,
+    capacity    INT,
+    seats_taken INT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE registrations (
+    id              BIGINT      NOT NULL AUTO_INCREMENT,
+    student_id      BIGINT,
+    course_id       BIGINT,
+    price           BIGINT,
+    registered_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_registrations_student_course UNIQUE (student_id, course_id),
+    CONSTRAINT fk_registrations_student FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_registrations_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
@@ -0,0 +1,8 @@
+-- Every registration flow starts with a student lookup by email
+CREATE UNIQUE INDEX uk_students_email ON students (email);
+
+-- Upcoming-course and ongoing-course predicates (start_time > ?, start_time < ? AND end_time > ?)
+CREATE INDEX idx_courses_start_end ON courses (start_time, end_time);
+
+-- Course rosters; the (student_id, course_id) unique constraint already covers per-student lookups
+CREATE INDEX idx_registrations_course ON registrations (course_id);
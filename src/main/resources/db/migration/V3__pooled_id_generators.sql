@@ -0,0 +1,12 @@
+-- Ids come from blocks reserved in this table (pooled-lo, block size is the entity's allocationSize)
+-- instead of AUTO_INCREMENT, so Hibernate knows the key before the insert and can batch inserts.
+-- next_val is the first id of the next block.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'students', COALESCE(MAX(id), 0) + 1 FROM students;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'courses', COALESCE(MAX(id), 0) + 1 FROM courses;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'registrations', COALESCE(MAX(id), 0) + 1 FROM registrations;
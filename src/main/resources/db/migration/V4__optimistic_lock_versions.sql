@@ -0,0 +1,4 @@
+-- @Version columns for optimistic locking. The seat updates on courses bump the version as well, so
+-- a Course read before a seat was taken or released can no longer be written back over it.
+ALTER TABLE courses ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE registrations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Course catalog pages are read in (start_time, id) order and continue after the last row of the
+-- previous page, this index serves both the seek and the order without a sort
+CREATE INDEX idx_courses_start_id ON courses (start_time, id);
@@ -0,0 +1,93 @@
+package com.samsung.springtdd.configuration;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.services.RegistrationService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two embedded H2 databases stand in for the primary and a replica that never catches up, so
+ * every read shows which of them it went to.
+ */
+@SpringBootTest(properties = "registration.replica.url=" + ReadReplicaConfigTest.REPLICA_URL)
+public class ReadReplicaConfigTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:springtdd-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_send_read_only_transactions_to_the_replica() {
+        saveCourse("Replicated Later", 1);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertEquals(0L, (long) readOnly.execute(status -> courseRepository.count()));
+        assertEquals(1L, (long) readWrite.execute(status -> courseRepository.count()));
+        // Repository reads outside a transaction are read-only as well
+        assertEquals(0L, courseRepository.count());
+    }
+
+    @Test
+    void should_return_the_new_registration_with_upcoming_courses_although_the_replica_lags() {
+        studentRepository.save(Student.builder().email("primary@example.com").build());
+        Course first = saveCourse("First", 1);
+        Course second = saveCourse("Second", 2);
+
+        registrationService.register("primary@example.com", first.getId());
+        List<CourseSummary> courses = registrationService.register("primary@example.com", second.getId());
+
+        assertEquals(List.of(first.getId(), second.getId()), courses.stream().map(CourseSummary::getId).toList());
+    }
+
+    private Course saveCourse(String name, int startsInDays) {
+        return courseRepository.save(Course.builder()
+                .name(name)
+                .startTime(LocalDateTime.now().plusDays(startsInDays))
+                .endTime(LocalDateTime.now().plusDays(startsInDays).plusHours(2))
+                .price(1000L)
+                .build());
+    }
+}
@@ -0,0 +1,82 @@
+package com.samsung.springtdd.configuration;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The fast-startup profile on the embedded database, including Hibernate's schema validation.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+public class StartupConfigTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_create_registration_path_at_startup_and_the_rest_on_first_use() throws Exception {
+        assertTrue(context.getBeanFactory().containsSingleton("registrationController"));
+        assertTrue(context.getBeanFactory().containsSingleton("registrationService"));
+        assertFalse(context.getBeanFactory().containsSingleton("bulkImportService"));
+        assertFalse(context.getBeanFactory().containsSingleton("courseCatalogService"));
+
+        mockMvc.perform(get("/courses")).andExpect(status().isOk());
+
+        assertTrue(context.getBeanFactory().containsSingleton("courseCatalogService"));
+    }
+
+    @Test
+    void should_register_with_lazy_schema_handling() throws Exception {
+        studentRepository.save(Student.builder().email("fast@example.com").build());
+        Course course = courseRepository.save(Course.builder()
+                .name("Fast Course")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(2))
+                .price(1000L)
+                .build());
+
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"fast@example.com\",\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isOk());
+    }
+}
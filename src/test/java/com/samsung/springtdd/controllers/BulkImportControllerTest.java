@@ -0,0 +1,163 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A chunk size of 2 makes every test span several chunks
+@SpringBootTest(properties = "registration.import.chunk-size=2")
+@AutoConfigureMockMvc
+public class BulkImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_import_students_from_csv_and_report_rejected_rows() throws Exception {
+        studentRepository.save(Student.builder().email("existing@example.com").build());
+
+        importRows("students", "csv", """
+                email,firstName,lastName
+                new1@example.com,Jane,"Doe, Jr."
+                existing@example.com,Taken,Already
+                ,No,Email
+                new2@example.com,John,Doe
+                new1@example.com,Jane,Again
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(5))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.complete").value(true))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Student already exists"))
+                .andExpect(jsonPath("$.errors[1].message").value("Email is required"))
+                .andExpect(jsonPath("$.errors[2].row").value(5));
+
+        assertEquals("Doe, Jr.", studentRepository.findByEmail("new1@example.com").orElseThrow().getLastName());
+        assertEquals(3, studentRepository.count());
+    }
+
+    @Test
+    void should_import_courses_from_ndjson_and_skip_invalid_rows() throws Exception {
+        importRows("courses", "ndjson", """
+                {"name":"Java","startTime":"2030-01-01T09:00:00","endTime":"2030-02-01T09:00:00","price":1000,"capacity":30}
+                {"name":"Backwards","startTime":"2030-02-01T09:00:00","endTime":"2030-01-01T09:00:00","price":1000}
+                {"name":"Bad date","startTime":"tomorrow","endTime":"2030-02-01T09:00:00","price":1000}
+                {"name":"Spring","startTime":"2030-03-01T09:00:00","endTime":"2030-04-01T09:00:00","price":1500}
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Course must end after it starts"))
+                .andExpect(jsonPath("$.errors[1].row").value(3));
+
+        List<String> names = courseRepository.findAll().stream().map(Course::getName).sorted().toList();
+        assertEquals(List.of("Java", "Spring"), names);
+    }
+
+    @Test
+    void should_import_registrations_with_the_registration_rules() throws Exception {
+        studentRepository.save(Student.builder().email("a@example.com").build());
+        Student b = studentRepository.save(Student.builder().email("b@example.com").build());
+        studentRepository.save(Student.builder().email("c@example.com").build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Course open = courseRepository.save(course("Open", start, null));
+        Course small = courseRepository.save(course("Small", start, 1));
+        registrationRepository.save(new Registration(b, open, 1000L, start.minusDays(10)));
+
+        importRows("registrations", "csv", """
+                email,courseId,price,registeredDate
+                a@example.com,%1$d,800,2029-12-01T10:00:00
+                b@example.com,%1$d,,2029-12-01T10:00:00
+                a@example.com,%2$d,,2029-12-01T10:00:00
+                c@example.com,%2$d,,2029-12-01T10:00:00
+                c@example.com,%1$d,,2030-01-02T10:00:00
+                nobody@example.com,%1$d,,
+                c@example.com,999999,,
+                """.formatted(open.getId(), small.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(7))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Already registered for this course"))
+                .andExpect(jsonPath("$.errors[1].message").value("Course is full"))
+                .andExpect(jsonPath("$.errors[2].message").value("Course has already started"))
+                .andExpect(jsonPath("$.errors[3].message").value("Student not found"))
+                .andExpect(jsonPath("$.errors[4].message").value("Course not found"));
+
+        assertEquals(3, registrationRepository.count());
+        assertEquals(1, courseRepository.findById(small.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(800L, registrationRepository.findByStudentAndCourse(
+                studentRepository.findByEmail("a@example.com").orElseThrow(), open).orElseThrow().getPrice());
+    }
+
+    @Test
+    void should_stop_at_malformed_input_and_keep_earlier_rows() throws Exception {
+        importRows("students", "ndjson", """
+                {"email":"first@example.com"}
+                {"email":"second@example.com"}
+                {"email":"third@example.com"}
+                {"email":
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete").value(false))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(4));
+
+        assertEquals(3, studentRepository.count());
+    }
+
+    @Test
+    void should_reject_unknown_import() throws Exception {
+        importRows("teachers", "csv", "name\n")
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions importRows(String target, String format, String body) throws Exception {
+        return mockMvc.perform(post("/import/" + target + "?format=" + format).content(body));
+    }
+
+    private Course course(String name, LocalDateTime startTime, Integer capacity) {
+        return Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusDays(30))
+                .price(1000L)
+                .capacity(capacity)
+                .build();
+    }
+}
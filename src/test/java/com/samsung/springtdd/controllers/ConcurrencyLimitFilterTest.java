@@ -0,0 +1,36 @@
+package com.samsung.springtdd.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTest {
+
+    @Test
+    void should_release_permit_after_request() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/register"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void should_reject_with_429_when_limit_reached() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // The outer request holds the only permit while the nested one arrives
+        filter.doFilter(new MockHttpServletRequest("POST", "/register"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("POST", "/register"), rejected, new MockFilterChain()));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1, filter.availablePermits());
+    }
+}
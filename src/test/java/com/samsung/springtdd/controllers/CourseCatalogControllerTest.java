@@ -0,0 +1,112 @@
+package com.samsung.springtdd.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CourseCatalogControllerTest {
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_page_through_courses_in_start_time_order_without_gaps_or_repeats() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int day = 0; day < 4; day++) {
+            // Several courses share a start time, the id breaks the tie across page boundaries
+            for (int i = 0; i < 3; i++) {
+                expected.add(save("Course " + day + "-" + i, start.plusDays(day), 1000L).getId());
+            }
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = page("/courses?size=5" + (cursor == null ? "" : "&cursor=" + cursor));
+            page.get("courses").forEach(course -> seen.add(course.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void should_filter_by_time_window_and_price_range() throws Exception {
+        save("Too early", start.minusDays(1), 1000L);
+        Course match = save("Match", start.plusDays(1), 1500L);
+        save("Too expensive", start.plusDays(1), 5000L);
+        save("Ends too late", start.plusDays(9), 1000L);
+
+        JsonNode page = page("/courses?from=" + start + "&to=" + start.plusDays(5)
+                + "&minPrice=1000&maxPrice=2000");
+
+        assertEquals(1, page.get("courses").size());
+        JsonNode course = page.get("courses").get(0);
+        assertEquals(match.getId(), course.get("id").asLong());
+        assertEquals("Match", course.get("name").asText());
+        assertEquals(1500L, course.get("price").asLong());
+        assertTrue(page.get("nextCursor").isNull());
+    }
+
+    @Test
+    void should_reject_invalid_cursor() throws Exception {
+        mockMvc.perform(get("/courses?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void should_reject_empty_page_size() throws Exception {
+        mockMvc.perform(get("/courses?size=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+    }
+
+    private JsonNode page(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private Course save(String name, LocalDateTime startTime, long price) {
+        return courseRepository.save(Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(2))
+                .price(price)
+                .build());
+    }
+}
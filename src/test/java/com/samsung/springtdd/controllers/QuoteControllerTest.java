@@ -0,0 +1,86 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class QuoteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_quote_discounted_prices_for_a_student_with_two_ongoing_courses() throws Exception {
+        Student student = studentRepository.save(Student.builder().email("quote@example.com").build());
+        LocalDateTime now = LocalDateTime.now();
+        Course ongoing = null;
+        for (int i = 1; i <= 2; i++) {
+            ongoing = saveCourse("Ongoing " + i, now.minusDays(i), now.plusDays(i), 500L);
+            registrationRepository.save(new Registration(student, ongoing, 500L, now.minusDays(i + 1)));
+        }
+        Course upcoming = saveCourse("Upcoming", now.plusDays(3), now.plusDays(4), 1000L);
+
+        mockMvc.perform(post("/quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"quote@example.com\",\"courseIds\":[" + upcoming.getId() + ",999999," + ongoing.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("QUOTED"))
+                .andExpect(jsonPath("$[0].listPrice").value(1000))
+                .andExpect(jsonPath("$[0].price").value(750))
+                .andExpect(jsonPath("$[0].discounted").value(true))
+                .andExpect(jsonPath("$[1].status").value("COURSE_NOT_FOUND"))
+                .andExpect(jsonPath("$[2].status").value("COURSE_STARTED"));
+    }
+
+    @Test
+    void should_reject_unknown_students() throws Exception {
+        mockMvc.perform(post("/quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nobody@example.com\",\"courseIds\":[1]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("STUDENT_NOT_FOUND"));
+    }
+
+    private Course saveCourse(String name, LocalDateTime startTime, LocalDateTime endTime, Long price) {
+        return courseRepository.save(Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(endTime)
+                .price(price)
+                .build());
+    }
+}
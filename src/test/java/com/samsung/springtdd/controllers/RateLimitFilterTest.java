@@ -0,0 +1,131 @@
+package com.samsung.springtdd.controllers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_reject_with_429_once_burst_is_used() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(0.5, 2), meterRegistry);
+
+        assertEquals(200, register(filter, "burst@example.com").getStatus());
+        assertEquals(200, register(filter, "BURST@example.com").getStatus());
+        MockHttpServletResponse rejected = register(filter, "burst@example.com");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertEquals(200, register(filter, "other@example.com").getStatus());
+        assertEquals(1, meterRegistry.get("registration.rate_limited").counter().count());
+    }
+
+    @Test
+    void should_pass_body_on_to_controller() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(1, 1), meterRegistry);
+        MockHttpServletRequest request = post("{\"courseIds\":[1,2],\"email\":\"body@example.com\"}");
+        String[] forwarded = new String[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> forwarded[0] = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        assertEquals("{\"courseIds\":[1,2],\"email\":\"body@example.com\"}", forwarded[0]);
+        assertEquals(429, register(filter, "body@example.com").getStatus());
+    }
+
+    @Test
+    void should_replay_body_to_non_blocking_reader() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(1, 1), meterRegistry);
+        ByteArrayOutputStream forwarded = new ByteArrayOutputStream();
+        boolean[] allDataRead = new boolean[1];
+
+        filter.doFilter(post("{\"email\":\"async@example.com\",\"courseId\":1}"), new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        forwarded.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead[0] = true;
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    fail(throwable);
+                }
+            });
+        });
+
+        assertEquals("{\"email\":\"async@example.com\",\"courseId\":1}", forwarded.toString(StandardCharsets.UTF_8));
+        assertTrue(allDataRead[0]);
+    }
+
+    @Test
+    void should_limit_unregister_by_email_in_path() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(1, 1), meterRegistry);
+
+        assertEquals(200, unregister(filter, "/unregister/1/path%40example.com").getStatus());
+        assertEquals(429, unregister(filter, "/unregister/2/path@example.com").getStatus());
+    }
+
+    @Test
+    void should_let_requests_without_email_through() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(1, 1), meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(post("{not json"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @Test
+    void should_refill_tokens_over_time() {
+        RateLimiter rateLimiter = new RateLimiter(10, 2);
+
+        assertEquals(0, rateLimiter.tryAcquire("a", 0));
+        assertEquals(0, rateLimiter.tryAcquire("a", 0));
+        assertEquals(100_000_000, rateLimiter.tryAcquire("a", 0));
+        assertEquals(0, rateLimiter.tryAcquire("a", 100_000_000));
+        assertEquals(50_000_000, rateLimiter.tryAcquire("a", 150_000_000));
+        // Idle long enough to be full again, but never more than the burst
+        assertEquals(0, rateLimiter.tryAcquire("a", 1_000_000_000));
+        assertEquals(0, rateLimiter.tryAcquire("a", 1_000_000_000));
+        assertTrue(rateLimiter.tryAcquire("a", 1_000_000_000) > 0);
+    }
+
+    private MockHttpServletResponse register(RateLimitFilter filter, String email) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("{\"email\":\"" + email + "\",\"courseId\":1}"), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse unregister(RateLimitFilter filter, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("DELETE", uri), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest post(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/register");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,146 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive profile end to end: WebFlux, R2DBC and the JPA side on the same H2 database.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveRegistrationControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_register_and_return_upcoming_courses() {
+        studentRepository.save(Student.builder().email("reactive@example.com").build());
+        Course first = saveCourse("First", LocalDateTime.now().plusDays(1), null);
+        Course second = saveCourse("Second", LocalDateTime.now().plusDays(2), null);
+
+        register("reactive@example.com", first.getId()).expectStatus().isOk();
+        register("reactive@example.com", second.getId())
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("First")
+                .jsonPath("$[1].name").isEqualTo("Second");
+
+        assertEquals(1, courseRepository.findById(first.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(2, registrationRepository.count());
+    }
+
+    @Test
+    void should_apply_the_registration_rules() {
+        studentRepository.save(Student.builder().email("rules@example.com").build());
+        Course upcoming = saveCourse("Upcoming", LocalDateTime.now().plusDays(1), 1);
+        Course started = saveCourse("Started", LocalDateTime.now().minusDays(1), null);
+
+        register("rules@example.com", upcoming.getId()).expectStatus().isOk();
+        rejected(register("rules@example.com", upcoming.getId()), "ALREADY_REGISTERED");
+        rejected(register("rules@example.com", started.getId()), "COURSE_STARTED");
+        rejected(register("rules@example.com", 999_999L), "COURSE_NOT_FOUND");
+        rejected(register("nobody@example.com", upcoming.getId()), "STUDENT_NOT_FOUND");
+
+        studentRepository.save(Student.builder().email("second@example.com").build());
+        rejected(register("second@example.com", upcoming.getId()), "COURSE_FULL");
+    }
+
+    @Test
+    void should_unregister_and_release_the_seat() {
+        studentRepository.save(Student.builder().email("leave@example.com").build());
+        Course course = saveCourse("Leave", LocalDateTime.now().plusDays(1), 1);
+        register("leave@example.com", course.getId()).expectStatus().isOk();
+
+        unregister(course.getId(), "leave@example.com").expectStatus().isNoContent();
+        rejected(unregister(course.getId(), "leave@example.com"), "REGISTRATION_NOT_FOUND");
+
+        assertEquals(0, courseRepository.findById(course.getId()).orElseThrow().getSeatsTaken());
+        studentRepository.save(Student.builder().email("next@example.com").build());
+        register("next@example.com", course.getId()).expectStatus().isOk();
+    }
+
+    @Test
+    void should_take_registration_ids_from_the_shared_generator() {
+        Student student = studentRepository.save(Student.builder().email("ids@example.com").build());
+        Course reactive = saveCourse("Reactive", LocalDateTime.now().plusDays(1), null);
+        Course blocking = saveCourse("Blocking", LocalDateTime.now().plusDays(2), null);
+
+        register("ids@example.com", reactive.getId()).expectStatus().isOk();
+        Registration saved = registrationRepository.save(new Registration(student, blocking, 1000L, LocalDateTime.now()));
+
+        assertEquals(2, registrationRepository.count());
+        assertNotEquals(saved.getId(), registrationRepository.findByStudentAndCourse(student, reactive).orElseThrow().getId());
+    }
+
+    @Test
+    void should_not_serve_servlet_only_endpoints() {
+        assertTrue(applicationContext.getBeansOfType(RegistrationController.class).isEmpty());
+        webTestClient.get().uri("/courses").exchange().expectStatus().isNotFound();
+    }
+
+    private WebTestClient.ResponseSpec register(String email, Long courseId) {
+        return webTestClient.post().uri("/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"" + email + "\",\"courseId\":" + courseId + "}")
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec unregister(Long courseId, String email) {
+        return webTestClient.delete().uri("/unregister/{courseId}/{email}", courseId, email).exchange();
+    }
+
+    private void rejected(WebTestClient.ResponseSpec response, String code) {
+        response.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(code);
+    }
+
+    private Course saveCourse(String name, LocalDateTime startTime, Integer capacity) {
+        return courseRepository.save(Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(2))
+                .price(1000L)
+                .capacity(capacity)
+                .build());
+    }
+}
@@ -1,36 +1,61 @@
 package com.samsung.springtdd.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.ErrorCode;
 import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.services.IdempotencyStore;
+import com.samsung.springtdd.services.RegistrationRejectedException;
 import com.samsung.springtdd.services.RegistrationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = RegistrationController.class)
+@Import({IdempotencyStore.class, RegistrationControllerTest.Metrics.class})
 public class RegistrationControllerTest {
 
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private RegistrationService registrationService;
 
@@ -39,13 +64,8 @@ public class RegistrationControllerTest {
         RegistrationRequest request = new RegistrationRequest();
         request = objectMapper.readValue("{\"email\":\"test@example.com\",\"courseId\":1}", RegistrationRequest.class);
 
-        Course course = Course.builder()
-                .id(1L)
-                .name("Future Course")
-                .startTime(LocalDateTime.of(2023, 1, 2, 10, 0))
-                .endTime(LocalDateTime.of(2023, 1, 3, 10, 0))
-                .price(1000L)
-                .build();
+        CourseSummary course = new CourseSummary(1L, "Future Course",
+                LocalDateTime.of(2023, 1, 2, 10, 0), LocalDateTime.of(2023, 1, 3, 10, 0), 1000L);
 
         when(registrationService.register(anyString(), anyLong())).thenReturn(List.of(course));
 
@@ -58,6 +78,31 @@ public class RegistrationControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Future Course"));
     }
 
+    @Test
+    void should_return_batch_results_per_course() throws Exception {
+        BatchRegistrationResult registered = BatchRegistrationResult.builder()
+                .courseId(1L)
+                .status(BatchRegistrationResult.Status.REGISTERED)
+                .price(1000L)
+                .build();
+        BatchRegistrationResult started = BatchRegistrationResult.builder()
+                .courseId(2L)
+                .status(BatchRegistrationResult.Status.COURSE_STARTED)
+                .message("Course has already started")
+                .build();
+
+        when(registrationService.registerBatch(anyString(), anyList())).thenReturn(List.of(registered, started));
+
+        mockMvc.perform(post("/register/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"test@example.com\",\"courseIds\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].courseId").value(1))
+                .andExpect(jsonPath("$[0].status").value("REGISTERED"))
+                .andExpect(jsonPath("$[1].status").value("COURSE_STARTED"))
+                .andExpect(jsonPath("$[1].message").value("Course has already started"));
+    }
+
     @Test
     void should_return_unregister_successfully() throws Exception {
         doNothing().when(registrationService).unregister(anyLong(), anyString());
@@ -65,4 +110,63 @@ public class RegistrationControllerTest {
         mockMvc.perform(delete("/unregister/1/test@example.com"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void should_replay_response_for_repeated_idempotency_key() throws Exception {
+        CourseSummary course = new CourseSummary(1L, "Future Course", null, null, 1000L);
+        when(registrationService.register("retry@example.com", 1L)).thenReturn(List.of(course));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/register")
+                            .header(IdempotencyStore.HEADER, "retry-key")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"retry@example.com\",\"courseId\":1}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("Future Course"));
+        }
+
+        verify(registrationService, times(1)).register("retry@example.com", 1L);
+        assertEquals(1, meterRegistry.get("registration.idempotency").tag("outcome", "fresh").counter().count());
+        assertEquals(2, meterRegistry.get("registration.idempotency").tag("outcome", "replayed").counter().count());
+    }
+
+    @Test
+    void should_reject_idempotency_key_reused_for_another_course() throws Exception {
+        when(registrationService.register(anyString(), anyLong())).thenReturn(List.of());
+        mockMvc.perform(post("/register")
+                        .header(IdempotencyStore.HEADER, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"reuse@example.com\",\"courseId\":1}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/register")
+                        .header(IdempotencyStore.HEADER, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"reuse@example.com\",\"courseId\":2}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("IDEMPOTENCY_KEY_REUSED"))
+                .andExpect(jsonPath("$.message").value("Idempotency key was used for a different request"));
+    }
+
+    @Test
+    void should_run_again_after_failed_request_with_idempotency_key() throws Exception {
+        when(registrationService.register("full@example.com", 1L))
+                .thenThrow(new RegistrationRejectedException(ErrorCode.COURSE_FULL))
+                .thenReturn(List.of());
+
+        mockMvc.perform(post("/register")
+                        .header(IdempotencyStore.HEADER, "failed-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"full@example.com\",\"courseId\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("COURSE_FULL"))
+                .andExpect(jsonPath("$.message").value("Course is full"));
+        mockMvc.perform(post("/register")
+                        .header(IdempotencyStore.HEADER, "failed-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"full@example.com\",\"courseId\":1}"))
+                .andExpect(status().isOk());
+
+        verify(registrationService, times(2)).register("full@example.com", 1L);
+    }
 }
@@ -0,0 +1,126 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RegistrationExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_stream_course_roster_as_ndjson() throws Exception {
+        Course course = seedRoster();
+
+        String body = export("/courses/" + course.getId() + "/registrations");
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"email\":\"roster0@example.com\""));
+        assertTrue(lines[2].contains("\"email\":\"roster2@example.com\""));
+    }
+
+    @Test
+    void should_stream_course_roster_as_csv_with_escaping() throws Exception {
+        Course course = seedRoster();
+
+        String body = export("/courses/" + course.getId() + "/registrations?format=csv");
+
+        String[] lines = body.split("\n");
+        assertEquals("registrationId,studentId,email,firstName,lastName,price,registeredDate", lines[0]);
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].contains(",roster0@example.com,\"Doe, Jane\",Roster,1000,"));
+    }
+
+    @Test
+    void should_stream_student_schedule_ordered_by_start_time() throws Exception {
+        Student student = studentRepository.save(Student.builder().email("schedule@example.com").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        Course later = courseRepository.save(course("Later", start.plusDays(5)));
+        Course sooner = courseRepository.save(course("Sooner", start));
+        registrationRepository.save(new Registration(student, later, 1000L, LocalDateTime.now()));
+        registrationRepository.save(new Registration(student, sooner, 750L, LocalDateTime.now()));
+
+        String body = export("/students/schedule@example.com/registrations");
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"courseName\":\"Sooner\""));
+        assertTrue(lines[1].contains("\"courseName\":\"Later\""));
+    }
+
+    @Test
+    void should_reject_unknown_course_before_streaming() throws Exception {
+        mockMvc.perform(get("/courses/999999/registrations"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("COURSE_NOT_FOUND"))
+                .andExpect(jsonPath("$.message").value("Course not found"));
+    }
+
+    private String export(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Course seedRoster() {
+        Course course = courseRepository.save(course("Exported Course", LocalDateTime.now().plusDays(10)));
+        for (int i = 0; i < 3; i++) {
+            Student student = studentRepository.save(Student.builder()
+                    .email("roster" + i + "@example.com")
+                    .firstName("Doe, Jane")
+                    .lastName("Roster")
+                    .build());
+            registrationRepository.save(new Registration(student, course, 1000L, LocalDateTime.now()));
+        }
+        return course;
+    }
+
+    private Course course(String name, LocalDateTime startTime) {
+        return Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusDays(30))
+                .price(1000L)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.samsung.springtdd.loadtest;
+
+import com.samsung.springtdd.SpringTddApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the loadtest workload alone, then next to abusive clients hammering a few students, with the
+ * per-student rate limit off and on. The report only covers the well-behaved workload, with the rate
+ * limit on its throughput should stay close to the run without abusive clients.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=AdmissionControlBenchmark}.
+ */
+public class AdmissionControlBenchmark {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 32);
+    private static final int ABUSIVE_CLIENTS = Integer.getInteger("benchmark.abusive-clients", 100);
+    private static final int ABUSIVE_RATE = Integer.getInteger("benchmark.abusive-rate", 5);
+    private static final String LATENCY = System.getProperty("benchmark.jdbc-latency", "5ms");
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 10000);
+
+    @Test
+    void well_behaved_throughput_under_abusive_traffic() {
+        LoadTestReport baseline = run(0, true);
+        LoadTestReport unlimited = run(ABUSIVE_CLIENTS, false);
+        LoadTestReport limited = run(ABUSIVE_CLIENTS, true);
+
+        System.out.printf("%d well-behaved clients, %d abusive clients at %d req/s, %s per statement%n",
+                CLIENTS, ABUSIVE_CLIENTS, ABUSIVE_RATE, LATENCY);
+        System.out.printf("no abusive clients%n%s", baseline.format());
+        System.out.printf("abusive clients, rate limit off (%.2fx baseline throughput)%n%s",
+                unlimited.throughput() / baseline.throughput(), unlimited.format());
+        System.out.printf("abusive clients, rate limit on (%.2fx baseline throughput)%n%s",
+                limited.throughput() / baseline.throughput(), limited.format());
+    }
+
+    private LoadTestReport run(int abusiveClients, boolean rateLimit) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringTddApplication.class)
+                .profiles("loadtest")
+                // Passed as arguments, default properties would lose to application-loadtest.properties
+                .run("--server.port=0",
+                        "--registration.rate-limit.enabled=" + rateLimit,
+                        "--loadtest.threads=" + CLIENTS,
+                        "--loadtest.abusive-threads=" + abusiveClients,
+                        "--loadtest.abusive-rate=" + ABUSIVE_RATE,
+                        "--loadtest.requests=" + REQUESTS,
+                        "--loadtest.jdbc-latency=" + LATENCY,
+                        "--loadtest.exit-when-done=false")) {
+            return context.getBean(LoadTestRunner.class).getLastReport();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.samsung.springtdd.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LatencyRecorderTest {
+
+    @Test
+    void should_return_nearest_rank_percentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1000; i >= 1; i--) {
+            recorder.record(i);
+        }
+
+        assertEquals(1000, recorder.count());
+        assertEquals(500, recorder.percentile(50));
+        assertEquals(990, recorder.percentile(99));
+        assertEquals(999, recorder.percentile(99.9));
+        assertEquals(1000, recorder.percentile(100));
+    }
+
+    @Test
+    void should_merge_recorders_of_all_workers() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        first.record(1);
+        second.record(3);
+        second.record(2);
+
+        first.addAll(second);
+
+        assertEquals(3, first.count());
+        assertEquals(2, first.percentile(50));
+    }
+
+    @Test
+    void should_return_zero_without_samples() {
+        assertEquals(0, new LatencyRecorder().percentile(99));
+    }
+}
@@ -0,0 +1,45 @@
+package com.samsung.springtdd.loadtest;
+
+import com.samsung.springtdd.SpringTddApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the loadtest workload on the servlet stack (virtual threads, JDBC) and on the reactive profile
+ * (WebFlux, R2DBC) with the same simulated MySQL round trip per statement and the same pool size.
+ * Statements per request only count JDBC, so they read close to zero for the reactive run.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=ReactiveStackBenchmark}.
+ */
+public class ReactiveStackBenchmark {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 50);
+    private static final String LATENCY = System.getProperty("benchmark.jdbc-latency", "5ms");
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+
+    @Test
+    void servlet_stack_versus_reactive_stack() {
+        LoadTestReport servlet = run("loadtest");
+        LoadTestReport reactive = run("loadtest", "reactive");
+
+        System.out.printf("%d clients, pool of %d, %s per statement%n", CLIENTS, POOL_SIZE, LATENCY);
+        System.out.printf("servlet, virtual threads%n%s", servlet.format());
+        System.out.printf("reactive (%.2fx throughput)%n%s", reactive.throughput() / servlet.throughput(), reactive.format());
+    }
+
+    private LoadTestReport run(String... profiles) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringTddApplication.class)
+                .profiles(profiles)
+                // Passed as arguments, default properties would lose to application-loadtest.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=true",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--registration.reactive.pool-size=" + POOL_SIZE,
+                        "--loadtest.threads=" + CLIENTS,
+                        "--loadtest.requests=" + REQUESTS,
+                        "--loadtest.jdbc-latency=" + LATENCY,
+                        "--loadtest.exit-when-done=false")) {
+            return context.getBean(LoadTestRunner.class).getLastReport();
+        }
+    }
+}
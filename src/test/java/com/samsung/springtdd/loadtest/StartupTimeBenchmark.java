@@ -0,0 +1,168 @@
+package com.samsung.springtdd.loadtest;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the packaged application in a new JVM and measures the time from process start to the first
+ * successful {@code POST /register}, for the default setup and for each step of the fast-startup build.
+ * Runs the jar extracted by {@code mvn -Pfast-startup package} on a file-based H2 database. Not part of
+ * the default test run, execute with {@code mvn -Pfast-startup package && mvn test -Dtest=StartupTimeBenchmark}.
+ */
+public class StartupTimeBenchmark {
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 3);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Path APP_DIRECTORY = Path.of("target", "app").toAbsolutePath();
+    private static final Path WORK_DIRECTORY = Path.of("target", "startup-benchmark").toAbsolutePath();
+    private static final String JAR = "SpringTDD-0.0.1-SNAPSHOT.jar";
+    private static final String EMAIL = "startup@example.com";
+
+    private final String databaseUrl = "jdbc:h2:file:" + WORK_DIRECTORY.resolve("registration")
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private long nextCourseId = 1_000_000;
+
+    private record Variant(String name, List<String> jvmArguments, List<String> arguments) {
+    }
+
+    @Test
+    void time_to_first_registration() throws Exception {
+        assumeTrue(Files.exists(APP_DIRECTORY.resolve(JAR)) && Files.exists(APP_DIRECTORY.resolve("application.jsa")),
+                "build the extracted jar and CDS archive first: mvn -Pfast-startup package");
+        Files.createDirectories(WORK_DIRECTORY);
+        seedStudent();
+
+        List<String> fastStartup = List.of("--spring.profiles.active=fast-startup");
+        List<Variant> variants = List.of(
+                new Variant("default", List.of(), List.of()),
+                new Variant("fast-startup profile", List.of(), fastStartup),
+                new Variant("  + AOT", List.of("-Dspring.aot.enabled=true"), fastStartup),
+                new Variant("  + AOT + CDS", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"), fastStartup));
+
+        // One throwaway start so the first measured variant doesn't pay for a cold file cache
+        timeToFirstRegistration(variants.get(0), "warmup");
+
+        System.out.printf("time to first successful POST /register, %d runs each%n", RUNS);
+        for (Variant variant : variants) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = timeToFirstRegistration(variant, variant.name().replaceAll("[^A-Za-z]+", "-").replaceAll("^-|-$", "") + "-" + run);
+            }
+            Arrays.sort(millis);
+            System.out.printf("  %-22s median %6d ms, min %6d ms, max %6d ms%n",
+                    variant.name(), millis[RUNS / 2], millis[0], millis[RUNS - 1]);
+        }
+    }
+
+    private long timeToFirstRegistration(Variant variant, String logName) throws Exception {
+        long courseId = seedCourse();
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(variant.jvmArguments());
+        command.addAll(List.of("-jar", JAR,
+                "--server.port=" + port,
+                "--spring.datasource.url=" + databaseUrl,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false"));
+        command.addAll(variant.arguments());
+
+        HttpRequest register = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + EMAIL + "\",\"courseId\":" + courseId + "}"))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(APP_DIRECTORY.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(WORK_DIRECTORY.resolve(logName + ".log").toFile())
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    fail("application exited with " + process.exitValue() + ", see " + logName + ".log");
+                }
+                try {
+                    HttpResponse<String> response = httpClient.send(register, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                    fail("registration failed with " + response.statusCode() + ": " + response.body());
+                } catch (ConnectException e) {
+                    Thread.sleep(10);
+                }
+            }
+            throw new AssertionError("no successful registration within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void seedStudent() throws SQLException {
+        Flyway.configure().dataSource(databaseUrl, "sa", "").load().migrate();
+        try (Connection connection = DriverManager.getConnection(databaseUrl, "sa", "")) {
+            connection.createStatement().execute("DELETE FROM registrations");
+            connection.createStatement().execute("DELETE FROM courses");
+            connection.createStatement().execute("DELETE FROM students");
+            connection.createStatement().execute("INSERT INTO students (id, email) VALUES (1000000, '" + EMAIL + "')");
+        }
+    }
+
+    /**
+     * A new course per start, so every first registration is accepted. The connection is closed before
+     * the application opens the database file.
+     */
+    private long seedCourse() throws SQLException {
+        long courseId = nextCourseId++;
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        try (Connection connection = DriverManager.getConnection(databaseUrl, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO courses (id, name, start_time, end_time, price) VALUES (?, ?, ?, ?, ?)")) {
+            insert.setLong(1, courseId);
+            insert.setString(2, "Startup Course " + courseId);
+            insert.setTimestamp(3, Timestamp.valueOf(start));
+            insert.setTimestamp(4, Timestamp.valueOf(start.plusHours(2)));
+            insert.setLong(5, 1000L);
+            insert.executeUpdate();
+        }
+        return courseId;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
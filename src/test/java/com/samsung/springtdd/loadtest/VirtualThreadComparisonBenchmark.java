@@ -0,0 +1,46 @@
+package com.samsung.springtdd.loadtest;
+
+import com.samsung.springtdd.SpringTddApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the loadtest workload twice, once on Tomcat's platform thread pool and once on virtual threads,
+ * with a simulated MySQL round trip on every statement so requests spend their time waiting on JDBC.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=VirtualThreadComparisonBenchmark}.
+ */
+public class VirtualThreadComparisonBenchmark {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int TOMCAT_THREADS = Integer.getInteger("benchmark.tomcat-threads", 50);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 50);
+    private static final String LATENCY = System.getProperty("benchmark.jdbc-latency", "5ms");
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+
+    @Test
+    void platform_threads_versus_virtual_threads() {
+        LoadTestReport platform = run(false);
+        LoadTestReport virtual = run(true);
+
+        System.out.printf("%d clients, %d Tomcat threads, pool of %d, %s per statement%n",
+                CLIENTS, TOMCAT_THREADS, POOL_SIZE, LATENCY);
+        System.out.printf("platform threads%n%s", platform.format());
+        System.out.printf("virtual threads (%.2fx throughput)%n%s", virtual.throughput() / platform.throughput(), virtual.format());
+    }
+
+    private LoadTestReport run(boolean virtualThreads) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringTddApplication.class)
+                .profiles("loadtest")
+                // Passed as arguments, default properties would lose to application-loadtest.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--loadtest.threads=" + CLIENTS,
+                        "--loadtest.requests=" + REQUESTS,
+                        "--loadtest.jdbc-latency=" + LATENCY,
+                        "--loadtest.exit-when-done=false")) {
+            return context.getBean(LoadTestRunner.class).getLastReport();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.samsung.springtdd.metrics;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class RegistrationMetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_expose_step_timers_and_statement_counts_on_prometheus_endpoint() throws Exception {
+        studentRepository.save(new Student(null, "metrics@example.com", "Metrics", "Test"));
+        Course course = courseRepository.save(Course.builder()
+                .name("Observed Course")
+                .startTime(LocalDateTime.now().plusDays(7))
+                .endTime(LocalDateTime.now().plusDays(30))
+                .price(1000L)
+                .build());
+
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"metrics@example.com\",\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"metrics@example.com\",\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "registration_requests_seconds_count{operation=\"register\",outcome=\"success\"}")))
+                .andExpect(content().string(containsString(
+                        "registration_requests_seconds_count{operation=\"register\",outcome=\"already_registered\"}")))
+                .andExpect(content().string(containsString(
+                        "registration_step_seconds_count{operation=\"register\",step=\"context\"}")))
+                .andExpect(content().string(containsString(
+                        "http_server_requests_sql_statements_count{method=\"POST\",uri=\"/register\"}")));
+    }
+}
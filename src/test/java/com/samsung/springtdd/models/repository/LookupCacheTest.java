@@ -0,0 +1,141 @@
+package com.samsung.springtdd.models.repository;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.samsung.springtdd.configuration.CacheConfig;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSnapshot;
+import com.samsung.springtdd.models.DTO.StudentSnapshot;
+import com.samsung.springtdd.models.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class LookupCacheTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_serve_repeated_course_lookups_from_cache() {
+        Course course = courseRepository.save(Course.builder()
+                .name("Cached Course")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(2))
+                .price(1000L)
+                .build());
+        CacheStats before = stats(CacheConfig.COURSES);
+
+        courseRepository.findSnapshotById(course.getId());
+        courseRepository.findSnapshotById(course.getId());
+
+        CacheStats after = stats(CacheConfig.COURSES).minus(before);
+        assertEquals(1, after.missCount());
+        assertEquals(1, after.hitCount());
+    }
+
+    @Test
+    void should_evict_course_when_it_is_updated() {
+        Course course = courseRepository.save(Course.builder()
+                .name("Cached Course")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(2))
+                .price(1000L)
+                .build());
+        courseRepository.findSnapshotById(course.getId());
+
+        course.setPrice(2000L);
+        courseRepository.save(course);
+
+        assertEquals(2000L, courseRepository.findSnapshotById(course.getId()).orElseThrow().price());
+    }
+
+    @Test
+    void should_keep_cached_course_across_seat_changes() {
+        Course course = courseRepository.save(Course.builder()
+                .name("Cached Course")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(2))
+                .price(1000L)
+                .build());
+        CourseSnapshot cached = courseRepository.findSnapshotById(course.getId()).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> courseRepository.reserveSeat(course.getId()));
+
+        // The snapshot has no seat count, the entity is read past the cache
+        assertSame(cached, courseRepository.findSnapshotById(course.getId()).orElseThrow());
+        assertEquals(1, courseRepository.findById(course.getId()).orElseThrow().getSeatsTaken());
+    }
+
+    @Test
+    void should_evict_student_when_it_is_updated() {
+        Student student = studentRepository.save(Student.builder().email("cached@example.com").firstName("Old").build());
+        studentRepository.findSnapshotByEmail("cached@example.com");
+
+        student.setFirstName("New");
+        studentRepository.save(student);
+
+        assertEquals("New", studentRepository.findSnapshotByEmail("cached@example.com").orElseThrow().firstName());
+    }
+
+    @Test
+    void should_evict_student_again_after_commit() {
+        Student student = studentRepository.save(Student.builder().email("committed@example.com").firstName("Old").build());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            student.setFirstName("New");
+            studentRepository.saveAndFlush(student);
+            // A reader that doesn't see the uncommitted row caches the old one after the first eviction
+            cacheManager.getCache(CacheConfig.STUDENTS).put("committed@example.com",
+                    new StudentSnapshot(student.getId(), "committed@example.com", "Old", null));
+        });
+
+        assertEquals("New", studentRepository.findSnapshotByEmail("committed@example.com").orElseThrow().firstName());
+    }
+
+    @Test
+    void should_not_cache_missing_student() {
+        assertTrue(studentRepository.findSnapshotByEmail("late@example.com").isEmpty());
+
+        studentRepository.save(Student.builder().email("late@example.com").build());
+
+        assertTrue(studentRepository.findSnapshotByEmail("late@example.com").isPresent());
+    }
+
+    private CacheStats stats(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats();
+    }
+}
@@ -0,0 +1,175 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSearch;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each repository query against the migrated schema, captures the SQL Hibernate generates and
+ * fails if H2's EXPLAIN shows a full table scan. Guards the indexes of V2__registration_lookup_indexes
+ * and V5__course_catalog_index.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.samsung.springtdd.models.repository.QueryPlanTest$CapturingInspector")
+public class QueryPlanTest {
+    private static final int STUDENTS = 300;
+    private static final int COURSES = 100;
+    private static final int REGISTRATIONS_PER_STUDENT = 5;
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.of(2023, 1, 1, 10, 0);
+
+    private Student student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            LocalDateTime start = now.plusDays(i - COURSES / 2);
+            courses.add(Course.builder().name("Course " + i).startTime(start).endTime(start.plusDays(30)).price(1000L).build());
+        }
+        courses = courseRepository.saveAll(courses);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(Student.builder().email("plan" + i + "@example.com").build());
+        }
+        students = studentRepository.saveAll(students);
+
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            for (int j = 0; j < REGISTRATIONS_PER_STUDENT; j++) {
+                registrations.add(new Registration(students.get(i), courses.get((i + j * 7) % COURSES), 1000L, now));
+            }
+        }
+        registrationRepository.saveAll(registrations);
+        entityManager.flush();
+        entityManager.clear();
+
+        student = students.get(0);
+        course = courses.get(0);
+    }
+
+    @Test
+    void student_lookup_by_email_uses_index() {
+        assertNoFullScan(() -> studentRepository.findSnapshotByEmail("plan0@example.com"));
+    }
+
+    @Test
+    void upcoming_registrations_use_index() {
+        assertNoFullScan(() -> registrationRepository.findByStudentAndCourseStartTimeAfter(student, now));
+    }
+
+    @Test
+    void registration_lookup_by_student_and_course_uses_index() {
+        assertNoFullScan(() -> registrationRepository.findByStudentAndCourse(student, course));
+        assertNoFullScan(() -> registrationRepository.findByStudentAndCourseId(student, course.getId()));
+    }
+
+    @Test
+    void ongoing_course_counts_use_index() {
+        assertNoFullScan(() -> registrationRepository.countByStudentAndCourseStartTimeLessThanAndCourseEndTimeGreaterThan(student, now, now));
+        assertNoFullScan(() -> registrationRepository.countByStudentAndCourseStartTimeBeforeAndCourseEndTimeAfter(student, now, now));
+    }
+
+    @Test
+    void registration_context_uses_index() {
+        assertNoFullScan(() -> registrationRepository.findRegistrationContext("plan0@example.com", course.getId(), now));
+    }
+
+    @Test
+    void registered_course_ids_use_index() {
+        assertNoFullScan(() -> registrationRepository.findRegisteredCourseIds(student, Set.of(course.getId())));
+    }
+
+    @Test
+    void schedule_intervals_use_index() {
+        assertNoFullScan(() -> registrationRepository.findScheduleIntervals(student.getId()));
+    }
+
+    @Test
+    void import_lookups_use_index() {
+        Set<String> emails = Set.of("plan0@example.com", "plan1@example.com");
+        assertNoFullScan(() -> studentRepository.findAllByEmailIn(emails));
+        assertNoFullScan(() -> studentRepository.findExistingEmails(emails));
+        assertNoFullScan(() -> registrationRepository.findRegisteredKeys(Set.of(student.getId()), Set.of(course.getId())));
+    }
+
+    @Test
+    void exports_use_index() {
+        assertNoFullScan(() -> {
+            try (Stream<?> rows = registrationRepository.streamRoster(course.getId())) {
+                rows.count();
+            }
+        });
+        assertNoFullScan(() -> {
+            try (Stream<?> rows = registrationRepository.streamSchedule("plan0@example.com")) {
+                rows.count();
+            }
+        });
+    }
+
+    @Test
+    void catalog_pages_seek_into_index() {
+        CourseSearch upcoming = CourseSearch.builder().from(now).build();
+        assertNoFullScan(() -> courseRepository.findCatalogPage(upcoming, null, null, 21));
+        assertNoFullScan(() -> courseRepository.findCatalogPage(new CourseSearch(), now.plusDays(10), course.getId(), 21));
+    }
+
+    private void assertNoFullScan(Runnable query) {
+        CapturingInspector.statements.clear();
+        query.run();
+        List<String> selects = CapturingInspector.statements.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertFalse(selects.isEmpty(), "query issued no SELECT");
+
+        for (String sql : selects) {
+            Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+            assertFalse(plan.toLowerCase().contains("tablescan"), "full table scan in plan:\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.SpringTddApplication;
+import com.samsung.springtdd.loadtest.SimulatedLatencyDataSource;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists 100k registrations through Hibernate with JDBC batching disabled and enabled. Every
+ * statement pays a simulated round trip ({@code -Dbenchmark.jdbc-latency-micros}, default 200), without it
+ * the embedded H2 database makes a single insert as cheap as a batched one.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=RegistrationInsertBenchmark}.
+ */
+public class RegistrationInsertBenchmark {
+    private static final int REGISTRATIONS = Integer.getInteger("benchmark.registrations", 100_000);
+    private static final int STUDENTS = 1000;
+    private static final int CHUNK = 1000;
+    private static final Duration LATENCY = Duration.ofNanos(Long.getLong("benchmark.jdbc-latency-micros", 200) * 1000);
+
+    @Test
+    void insert_registrations_with_and_without_batching() {
+        // Warms up the JIT on both paths so the first measured configuration is not penalized
+        for (int i = 0; i < 3; i++) {
+            run(0, REGISTRATIONS / 5);
+            run(50, REGISTRATIONS / 5);
+        }
+        double unbatched = run(0, REGISTRATIONS);
+        double batched = run(50, REGISTRATIONS);
+
+        System.out.printf("%d registrations persisted in chunks of %d, %d us per round trip%n",
+                REGISTRATIONS, CHUNK, LATENCY.toNanos() / 1000);
+        System.out.printf("  batch_size 0  : %8.2f s%n", unbatched);
+        System.out.printf("  batch_size 50 : %8.2f s (%.2fx)%n", batched, unbatched / batched);
+    }
+
+    private double run(int batchSize, int registrations) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringTddApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(initializing -> initializing.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? new SimulatedLatencyDataSource(dataSource, LATENCY) : bean;
+                    }
+                }))
+                .run("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)) {
+            StudentRepository studentRepository = context.getBean(StudentRepository.class);
+            CourseRepository courseRepository = context.getBean(CourseRepository.class);
+            RegistrationRepository registrationRepository = context.getBean(RegistrationRepository.class);
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+            List<Student> students = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                students.add(Student.builder().email("insert" + i + "@example.com").build());
+            }
+            students = studentRepository.saveAll(students);
+            int coursesNeeded = (registrations + STUDENTS - 1) / STUDENTS;
+            List<Course> courses = new ArrayList<>();
+            LocalDateTime start = LocalDateTime.now().plusDays(30);
+            for (int i = 0; i < coursesNeeded; i++) {
+                courses.add(Course.builder().name("Insert Course " + i).startTime(start).endTime(start.plusDays(60)).price(1000L).build());
+            }
+            courses = courseRepository.saveAll(courses);
+
+            List<Student> registeredStudents = students;
+            List<Course> registeredCourses = courses;
+            LocalDateTime now = LocalDateTime.now();
+            long begin = System.nanoTime();
+            for (int offset = 0; offset < registrations; offset += CHUNK) {
+                int from = offset;
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Registration> chunk = new ArrayList<>(CHUNK);
+                    for (int i = from; i < Math.min(from + CHUNK, registrations); i++) {
+                        chunk.add(new Registration(registeredStudents.get(i % STUDENTS), registeredCourses.get(i / STUDENTS), 1000L, now));
+                    }
+                    registrationRepository.saveAll(chunk);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+            registrationRepository.deleteAllInBatch();
+            courseRepository.deleteAllInBatch();
+            studentRepository.deleteAllInBatch();
+            return seconds;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.ScheduleInterval;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.services.StudentSchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class RegistrationRepositoryTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2023, 1, 1, 10, 0);
+
+    private Student student;
+    private Course upcoming;
+    private Course ongoing;
+    private Course target;
+
+    @BeforeEach
+    void setUp() {
+        student = studentRepository.save(Student.builder().email("test@example.com").build());
+        upcoming = courseRepository.save(course("Upcoming Course", now.plusDays(1), now.plusDays(2)));
+        ongoing = courseRepository.save(course("Ongoing Course", now.minusDays(1), now.plusDays(1)));
+        target = courseRepository.save(course("Target Course", now.plusDays(3), now.plusDays(4)));
+
+        registrationRepository.save(new Registration(student, upcoming, 1000L, now.minusDays(5)));
+        registrationRepository.save(new Registration(student, ongoing, 1000L, now.minusDays(5)));
+    }
+
+    @Test
+    void should_return_registration_context_in_one_query() {
+        List<RegistrationContext> rows = registrationRepository.findRegistrationContext("test@example.com", target.getId(), now);
+
+        assertFalse(rows.isEmpty());
+        RegistrationContext context = rows.get(0);
+        assertEquals(student.getId(), context.getStudentId());
+        assertEquals(target.getId(), context.getCourseId());
+        assertEquals(target.getStartTime(), context.getCourseStartTime());
+        assertEquals(1000L, context.getCoursePrice());
+        assertFalse(context.getAlreadyRegistered());
+
+        List<Long> upcomingIds = rows.stream()
+                .map(RegistrationContext::getUpcomingCourse)
+                .filter(course -> course != null)
+                .map(CourseSummary::getId)
+                .toList();
+        assertEquals(List.of(upcoming.getId()), upcomingIds);
+    }
+
+    @Test
+    void should_return_schedule_intervals_of_student() {
+        List<ScheduleInterval> intervals = registrationRepository.findScheduleIntervals(student.getId());
+
+        assertEquals(2, intervals.size());
+        StudentSchedule schedule = StudentSchedule.EMPTY;
+        for (ScheduleInterval interval : intervals) {
+            schedule = schedule.with(interval.getCourseId(), interval.getStartTime(), interval.getEndTime());
+        }
+        assertEquals(1, schedule.countOngoing(now));
+        assertTrue(schedule.overlaps(target.getStartTime().minusDays(2), target.getStartTime()));
+        assertFalse(schedule.overlaps(target.getStartTime(), target.getEndTime()));
+    }
+
+    @Test
+    void should_flag_already_registered_course() {
+        List<RegistrationContext> rows = registrationRepository.findRegistrationContext("test@example.com", upcoming.getId(), now);
+
+        assertTrue(rows.get(0).getAlreadyRegistered());
+    }
+
+    @Test
+    void should_return_context_without_course_when_course_does_not_exist() {
+        List<RegistrationContext> rows = registrationRepository.findRegistrationContext("test@example.com", -1L, now);
+
+        assertEquals(student.getId(), rows.get(0).getStudentId());
+        assertNull(rows.get(0).getCourseId());
+    }
+
+    @Test
+    void should_return_no_context_when_student_does_not_exist() {
+        assertTrue(registrationRepository.findRegistrationContext("unknown@example.com", target.getId(), now).isEmpty());
+    }
+
+    @Test
+    void should_reject_duplicate_registration_with_unique_constraint() {
+        assertThrows(DataIntegrityViolationException.class, () ->
+                registrationRepository.saveAndFlush(new Registration(student, upcoming, 1000L, now)));
+    }
+
+    private Course course(String name, LocalDateTime startTime, LocalDateTime endTime) {
+        return Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(endTime)
+                .price(1000L)
+                .build();
+    }
+}
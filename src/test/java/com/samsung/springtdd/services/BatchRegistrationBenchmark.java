@@ -0,0 +1,117 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares N single {@code register} calls against one {@code registerBatch} call on the embedded database.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=BatchRegistrationBenchmark}.
+ */
+@SpringBootTest
+public class BatchRegistrationBenchmark {
+    private static final int COURSES = Integer.getInteger("benchmark.courses", 50);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("benchmark.warmup", 5);
+    private static final int MEASURED_ROUNDS = Integer.getInteger("benchmark.rounds", 20);
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    private int studentSequence;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void single_calls_versus_one_batch_call() {
+        List<Long> courseIds = seedCourses();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runSingleCalls(courseIds);
+            runBatchCall(courseIds);
+        }
+
+        long singleNanos = 0;
+        long batchNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            singleNanos += runSingleCalls(courseIds);
+            batchNanos += runBatchCall(courseIds);
+        }
+
+        double singleMillis = singleNanos / 1_000_000.0 / MEASURED_ROUNDS;
+        double batchMillis = batchNanos / 1_000_000.0 / MEASURED_ROUNDS;
+        System.out.printf("%d courses per cart, %d rounds%n", COURSES, MEASURED_ROUNDS);
+        System.out.printf("  %d x POST /register      : %8.2f ms per cart%n", COURSES, singleMillis);
+        System.out.printf("  1 x POST /register/batch : %8.2f ms per cart (%.1fx)%n", batchMillis, singleMillis / batchMillis);
+
+        assertTrue(batchNanos > 0 && singleNanos > 0);
+    }
+
+    private long runSingleCalls(List<Long> courseIds) {
+        String email = newStudent();
+        long start = System.nanoTime();
+        for (Long courseId : courseIds) {
+            registrationService.register(email, courseId);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runBatchCall(List<Long> courseIds) {
+        String email = newStudent();
+        long start = System.nanoTime();
+        List<BatchRegistrationResult> results = registrationService.registerBatch(email, courseIds);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(courseIds.size(), results.stream()
+                .filter(result -> result.getStatus() == BatchRegistrationResult.Status.REGISTERED)
+                .count());
+        return elapsed;
+    }
+
+    private List<Long> seedCourses() {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(Course.builder()
+                    .name("Benchmark Course " + i)
+                    .startTime(start.plusHours(i))
+                    .endTime(start.plusHours(i).plusDays(60))
+                    .price(1000L)
+                    .build());
+        }
+        return courseRepository.saveAll(courses).stream().map(Course::getId).toList();
+    }
+
+    private String newStudent() {
+        String email = "benchmark" + (studentSequence++) + "@example.com";
+        studentRepository.save(Student.builder().email(email).firstName("Bench").lastName("Mark").build());
+        return email;
+    }
+}
@@ -0,0 +1,120 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports students, courses and registrations through {@link BulkImportService} on the embedded database
+ * and reports rows per second, next to one-at-a-time saves of the same students.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=BulkImportBenchmark}.
+ */
+@SpringBootTest
+public class BulkImportBenchmark {
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 20_000);
+    private static final int COURSES = Integer.getInteger("benchmark.courses", 2_000);
+    private static final int REGISTRATIONS_PER_STUDENT = 5;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void import_rows_per_second() throws IOException {
+        // Warm-up on a separate set of rows
+        run("warmup", RegistrationExportService.Format.CSV);
+        tearDown();
+        long singleSaves = singleSaves();
+        tearDown();
+
+        System.out.printf("one-at-a-time saves : students %8d rows/s%n", singleSaves);
+        for (RegistrationExportService.Format format : RegistrationExportService.Format.values()) {
+            List<ImportReport> reports = run(format.name().toLowerCase(), format);
+            System.out.printf("%-6s import       : students %8d rows/s, courses %8d rows/s, registrations %8d rows/s%n",
+                    format, reports.get(0).getRowsPerSecond(), reports.get(1).getRowsPerSecond(), reports.get(2).getRowsPerSecond());
+            tearDown();
+        }
+    }
+
+    private long singleSaves() {
+        long start = System.nanoTime();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentRepository.save(Student.builder().email("single" + i + "@example.com").firstName("First").lastName("Last").build());
+        }
+        return STUDENTS * 1_000_000_000L / (System.nanoTime() - start);
+    }
+
+    private List<ImportReport> run(String prefix, RegistrationExportService.Format format) throws IOException {
+        boolean csv = format == RegistrationExportService.Format.CSV;
+        StringBuilder students = new StringBuilder(csv ? "email,firstName,lastName\n" : "");
+        for (int i = 0; i < STUDENTS; i++) {
+            String email = prefix + i + "@example.com";
+            students.append(csv
+                    ? email + ",First,Last\n"
+                    : "{\"email\":\"" + email + "\",\"firstName\":\"First\",\"lastName\":\"Last\"}\n");
+        }
+        ImportReport studentReport = importRows(BulkImportService.Target.STUDENTS, format, students);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        StringBuilder courses = new StringBuilder(csv ? "name,startTime,endTime,price,capacity\n" : "");
+        for (int i = 0; i < COURSES; i++) {
+            courses.append(csv
+                    ? "Course " + i + "," + start + "," + start.plusDays(60) + ",1000,\n"
+                    : "{\"name\":\"Course " + i + "\",\"startTime\":\"" + start + "\",\"endTime\":\"" + start.plusDays(60) + "\",\"price\":1000}\n");
+        }
+        ImportReport courseReport = importRows(BulkImportService.Target.COURSES, format, courses);
+
+        List<Long> courseIds = courseRepository.findAll().stream().map(Course::getId).toList();
+        StringBuilder registrations = new StringBuilder(csv ? "email,courseId,price,registeredDate\n" : "");
+        for (int i = 0; i < STUDENTS; i++) {
+            String email = prefix + i + "@example.com";
+            for (int j = 0; j < REGISTRATIONS_PER_STUDENT; j++) {
+                Long courseId = courseIds.get((i + j * 7) % courseIds.size());
+                registrations.append(csv
+                        ? email + "," + courseId + ",,\n"
+                        : "{\"email\":\"" + email + "\",\"courseId\":" + courseId + "}\n");
+            }
+        }
+        ImportReport registrationReport = importRows(BulkImportService.Target.REGISTRATIONS, format, registrations);
+
+        return List.of(studentReport, courseReport, registrationReport);
+    }
+
+    private ImportReport importRows(BulkImportService.Target target, RegistrationExportService.Format format,
+                                    StringBuilder input) throws IOException {
+        ImportReport report = bulkImportService.importRows(target, format,
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(0, report.getFailed(), () -> target + " import failed: " + report.getErrors());
+        return report;
+    }
+}
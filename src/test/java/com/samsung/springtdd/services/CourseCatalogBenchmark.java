@@ -0,0 +1,111 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.CourseSearch;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reads catalog pages deep into a large course table with keyset pagination
+ * ({@link CourseRepository#findCatalogPage}) and with OFFSET on the same order and projection.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=CourseCatalogBenchmark}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:catalog-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+        // H2 otherwise answers a repeated query with the same parameters from its previous result
+        + "DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE")
+public class CourseCatalogBenchmark {
+    private static final int COURSES = Integer.getInteger("benchmark.courses", 1_000_000);
+    private static final int PAGE_SIZE = CourseCatalogService.DEFAULT_PAGE_SIZE;
+    private static final int REPETITIONS = Integer.getInteger("benchmark.repetitions", 20);
+    private static final int INSERT_BATCH = 10_000;
+    // Several courses share a start time so the id tie-breaker is exercised
+    private static final int COURSES_PER_START = 4;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void keyset_versus_offset_pagination() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        long seedStart = System.nanoTime();
+        seed(start);
+        System.out.printf("%d courses seeded in %.1f s, %d per page%n",
+                COURSES, (System.nanoTime() - seedStart) / 1_000_000_000.0, PAGE_SIZE);
+
+        CourseSearch all = new CourseSearch();
+        int lastPage = COURSES / PAGE_SIZE;
+        for (int page : new int[]{1, 10, 100, 1_000, 10_000, lastPage}) {
+            if (page > lastPage) {
+                continue;
+            }
+            int offset = (page - 1) * PAGE_SIZE;
+            // The cursor a client would hold after reading the previous page
+            CourseSummary previous = offset == 0 ? null : offsetPage(offset - 1, 1).get(0);
+            LocalDateTime afterStartTime = previous == null ? null : previous.getStartTime();
+            Long afterId = previous == null ? null : previous.getId();
+
+            List<CourseSummary> keysetRows = courseRepository.findCatalogPage(all, afterStartTime, afterId, PAGE_SIZE);
+            assertEquals(offsetPage(offset, PAGE_SIZE), keysetRows);
+
+            double keyset = averageMillis(() -> courseRepository.findCatalogPage(all, afterStartTime, afterId, PAGE_SIZE));
+            double offsetMillis = averageMillis(() -> offsetPage(offset, PAGE_SIZE));
+            System.out.printf("  page %6d: keyset %8.3f ms, offset %8.3f ms%n", page, keyset, offsetMillis);
+        }
+    }
+
+    private void seed(LocalDateTime start) {
+        for (int from = 0; from < COURSES; from += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = from; i < Math.min(from + INSERT_BATCH, COURSES); i++) {
+                LocalDateTime startTime = start.plusMinutes(i / COURSES_PER_START);
+                rows.add(new Object[]{i + 1L, "Course " + i, Timestamp.valueOf(startTime),
+                        Timestamp.valueOf(startTime.plusHours(2)), 1000L + i % 500});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO courses (id, name, start_time, end_time, price) VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    private List<CourseSummary> offsetPage(int offset, int limit) {
+        return entityManager.createQuery("SELECT new com.samsung.springtdd.models.DTO.CourseSummary(" +
+                        "c.id, c.name, c.startTime, c.endTime, c.price) FROM Course c ORDER BY c.startTime, c.id", CourseSummary.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private double averageMillis(Supplier<List<CourseSummary>> query) {
+        for (int i = 0; i < REPETITIONS; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REPETITIONS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / REPETITIONS;
+    }
+}
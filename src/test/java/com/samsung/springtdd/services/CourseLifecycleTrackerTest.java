@@ -0,0 +1,170 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CourseLifecycleTrackerTest {
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+
+    @Autowired
+    private CourseLifecycleTracker courseLifecycleTracker;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-01-01T10:00:00Z"));
+    private final LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), ZONE);
+    private CourseLifecycleTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CourseLifecycleTracker();
+        ReflectionTestUtils.setField(tracker, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tracker, "clock", clock);
+        ReflectionTestUtils.setField(tracker, "maxSleep", Duration.ofMinutes(1));
+        ReflectionTestUtils.invokeMethod(tracker, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_move_courses_through_their_states() {
+        tracker.track(1L, now.plusHours(1), now.plusHours(3));
+        tracker.track(2L, now.minusHours(1), now.plusHours(1));
+        tracker.track(3L, now.minusHours(2), now.minusHours(1));
+
+        assertEquals(CourseLifecycleTracker.State.UPCOMING, tracker.state(1L));
+        assertEquals(CourseLifecycleTracker.State.ONGOING, tracker.state(2L));
+        assertEquals(CourseLifecycleTracker.State.FINISHED, tracker.state(3L));
+        assertCounts(1, 1, 1);
+
+        // Starting exactly now is not started yet, like the registration rule
+        clock.advance(Duration.ofHours(1));
+        assertFalse(tracker.hasStarted(1L));
+        clock.advance(Duration.ofMillis(1));
+        // Due but not applied yet, lookups count it already
+        assertTrue(tracker.hasStarted(1L));
+        assertEquals(2, tracker.advance());
+        assertCounts(0, 1, 2);
+
+        clock.advance(Duration.ofHours(2));
+        assertEquals(1, tracker.advance());
+        assertEquals(CourseLifecycleTracker.State.FINISHED, tracker.state(1L));
+        assertCounts(0, 0, 3);
+        assertEquals(0, tracker.advance());
+    }
+
+    @Test
+    void should_leave_unknown_courses_to_the_database() {
+        assertNull(tracker.state(1L));
+        assertFalse(tracker.hasStarted(1L));
+
+        tracker.trackIfUnknown(1L, now.minusHours(1), now.plusHours(1));
+        // Known courses only change through track, the entity listener calls it
+        tracker.trackIfUnknown(1L, now.plusHours(1), now.plusHours(2));
+        assertTrue(tracker.hasStarted(1L));
+
+        tracker.track(1L, now.plusHours(1), now.plusHours(2));
+        assertFalse(tracker.hasStarted(1L));
+
+        tracker.removed(1L);
+        assertNull(tracker.state(1L));
+    }
+
+    @Test
+    void should_keep_many_courses_through_growth_and_removal() {
+        int courses = 10_000;
+        for (long id = 1; id <= courses; id++) {
+            tracker.track(id, now.plusMinutes(id), now.plusMinutes(id + 60));
+        }
+        for (long id = 2; id <= courses; id += 2) {
+            tracker.removed(id);
+        }
+
+        for (long id = 1; id <= courses; id++) {
+            assertEquals(id % 2 == 1 ? CourseLifecycleTracker.State.UPCOMING : null, tracker.state(id), "course " + id);
+        }
+        clock.advance(Duration.ofMinutes(courses / 2));
+        tracker.advance();
+        assertCounts(courses / 4, 30, courses / 4 - 30);
+    }
+
+    @Test
+    void should_track_saved_courses_after_commit() {
+        Course course = transactionTemplate.execute(status -> {
+            Course saved = courseRepository.save(Course.builder()
+                    .name("Tracked")
+                    .startTime(LocalDateTime.now().minusHours(1))
+                    .endTime(LocalDateTime.now().plusHours(1))
+                    .price(1000L)
+                    .build());
+            assertNull(courseLifecycleTracker.state(saved.getId()));
+            return saved;
+        });
+        assertTrue(courseLifecycleTracker.hasStarted(course.getId()));
+
+        course.setStartTime(LocalDateTime.now().plusDays(1));
+        course.setEndTime(LocalDateTime.now().plusDays(2));
+        course = courseRepository.save(course);
+        assertFalse(courseLifecycleTracker.hasStarted(course.getId()));
+
+        courseRepository.delete(course);
+        assertNull(courseLifecycleTracker.state(course.getId()));
+    }
+
+    private void assertCounts(int upcoming, int ongoing, int finished) {
+        assertEquals(upcoming, tracker.count(CourseLifecycleTracker.State.UPCOMING));
+        assertEquals(ongoing, tracker.count(CourseLifecycleTracker.State.ONGOING));
+        assertEquals(finished, tracker.count(CourseLifecycleTracker.State.FINISHED));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
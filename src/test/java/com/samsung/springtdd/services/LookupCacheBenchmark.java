@@ -0,0 +1,96 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.SpringTddApplication;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures register/unregister throughput with the Caffeine lookup caches enabled and disabled.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=LookupCacheBenchmark}.
+ */
+public class LookupCacheBenchmark {
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 50);
+    private static final int COURSES = Integer.getInteger("benchmark.courses", 20);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("benchmark.warmup", 2);
+    private static final int MEASURED_ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+
+    @Test
+    void register_throughput_with_and_without_cache() {
+        double withoutCache = run("none");
+        double withCache = run("caffeine");
+
+        System.out.printf("register + unregister cycles, %d students x %d courses%n", STUDENTS, COURSES);
+        System.out.printf("  cache off : %10.0f ops/s%n", withoutCache);
+        System.out.printf("  cache on  : %10.0f ops/s (%.2fx)%n", withCache, withCache / withoutCache);
+    }
+
+    private double run(String cacheType) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringTddApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.cache.type=" + cacheType)
+                .run()) {
+            RegistrationService registrationService = context.getBean(RegistrationService.class);
+            List<String> emails = seedStudents(context.getBean(StudentRepository.class));
+            List<Long> courseIds = seedCourses(context.getBean(CourseRepository.class));
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                cycle(registrationService, emails, courseIds);
+            }
+            long operations = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                operations += cycle(registrationService, emails, courseIds);
+            }
+            return operations / ((System.nanoTime() - start) / 1_000_000_000.0);
+        }
+    }
+
+    private long cycle(RegistrationService registrationService, List<String> emails, List<Long> courseIds) {
+        long operations = 0;
+        for (String email : emails) {
+            for (Long courseId : courseIds) {
+                registrationService.register(email, courseId);
+                operations++;
+            }
+            for (Long courseId : courseIds) {
+                registrationService.unregister(courseId, email);
+                operations++;
+            }
+        }
+        return operations;
+    }
+
+    private List<String> seedStudents(StudentRepository studentRepository) {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            String email = "cache" + i + "@example.com";
+            studentRepository.save(Student.builder().email(email).firstName("Cache").lastName("Bench").build());
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    private List<Long> seedCourses(CourseRepository courseRepository) {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        List<Long> courseIds = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courseIds.add(courseRepository.save(Course.builder()
+                    .name("Cache Course " + i)
+                    .startTime(start.plusHours(i))
+                    .endTime(start.plusHours(i).plusDays(60))
+                    .price(1000L)
+                    .build()).getId());
+        }
+        return courseIds;
+    }
+}
@@ -0,0 +1,180 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.CoursePrice;
+import com.samsung.springtdd.models.DTO.ErrorCode;
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.DTO.StudentSnapshot;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PriceQuoteServiceTest {
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Mock
+    private CourseLifecycleTracker courseLifecycleTracker;
+
+    @Mock
+    private Clock clock;
+
+    @Spy
+    private CoursePricing coursePricing = new CoursePricing();
+
+    @InjectMocks
+    private PriceQuoteService priceQuoteService;
+
+    private final Instant now = Instant.parse("2023-01-01T10:00:00Z");
+    private final LocalDateTime nowTime = LocalDateTime.ofInstant(now, ZONE);
+    private final StudentSchedule ongoingTwo = StudentSchedule.EMPTY
+            .with(10L, nowTime.minusDays(1), nowTime.plusDays(1))
+            .with(11L, nowTime.minusDays(2), nowTime.plusDays(2));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(priceQuoteService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(priceQuoteService, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(priceQuoteService, "maxStudents", 100L);
+        ReflectionTestUtils.setField(priceQuoteService, "maxCoursesPerStudent", 2);
+        priceQuoteService.init();
+
+        lenient().when(clock.instant()).thenReturn(now);
+        lenient().when(clock.getZone()).thenReturn(ZONE);
+        lenient().when(studentRepository.findSnapshotByEmail("test@example.com"))
+                .thenReturn(Optional.of(new StudentSnapshot(1L, "test@example.com", null, null)));
+    }
+
+    @Test
+    void should_quote_list_prices_in_request_order() {
+        when(studentScheduleIndex.schedule(1L)).thenReturn(StudentSchedule.EMPTY);
+        when(courseRepository.findPrices(List.of(2L, 1L, 3L)))
+                .thenReturn(List.of(coursePrice(1L, 1000L), coursePrice(2L, 2000L)));
+
+        List<PriceQuote> quotes = priceQuoteService.quote("test@example.com", List.of(2L, 1L, 2L, 3L));
+
+        assertEquals(List.of(2L, 1L, 3L), quotes.stream().map(PriceQuote::getCourseId).toList());
+        assertEquals(quoted(2L, 2000L, 2000L, false), quotes.get(0));
+        assertEquals(quoted(1L, 1000L, 1000L, false), quotes.get(1));
+        assertEquals(PriceQuote.Status.COURSE_NOT_FOUND, quotes.get(2).getStatus());
+        assertNull(quotes.get(2).getPrice());
+    }
+
+    @Test
+    void should_discount_and_memoize_prices_per_student() {
+        when(studentScheduleIndex.schedule(1L)).thenReturn(ongoingTwo);
+        when(courseRepository.findPrices(List.of(1L))).thenReturn(List.of(coursePrice(1L, 1000L)));
+        when(courseRepository.findPrices(List.of(2L))).thenReturn(List.of(coursePrice(2L, 2000L)));
+
+        assertEquals(List.of(quoted(1L, 1000L, 750L, true)), priceQuoteService.quote("test@example.com", List.of(1L)));
+        // Only the course not quoted before is read
+        assertEquals(List.of(quoted(1L, 1000L, 750L, true), quoted(2L, 2000L, 1500L, true)),
+                priceQuoteService.quote("test@example.com", List.of(1L, 2L)));
+
+        verify(courseRepository, times(1)).findPrices(List.of(1L));
+        verify(courseRepository, times(1)).findPrices(List.of(2L));
+    }
+
+    @Test
+    void should_drop_the_memo_when_the_schedule_changes() {
+        when(studentScheduleIndex.schedule(1L)).thenReturn(StudentSchedule.EMPTY);
+        when(courseRepository.findPrices(List.of(1L))).thenReturn(List.of(coursePrice(1L, 1000L)));
+        assertEquals(List.of(quoted(1L, 1000L, 1000L, false)), priceQuoteService.quote("test@example.com", List.of(1L)));
+
+        // A register or unregister replaces the student's schedule in the index
+        when(studentScheduleIndex.schedule(1L)).thenReturn(ongoingTwo);
+        assertEquals(List.of(quoted(1L, 1000L, 750L, true)), priceQuoteService.quote("test@example.com", List.of(1L)));
+
+        // The first ongoing course ends, the same schedule counts one ongoing course from then on
+        when(clock.instant()).thenReturn(now.plus(Duration.ofDays(1)));
+        assertEquals(List.of(quoted(1L, 1000L, 1000L, false)), priceQuoteService.quote("test@example.com", List.of(1L)));
+
+        verify(courseRepository, times(3)).findPrices(List.of(1L));
+    }
+
+    @Test
+    void should_not_quote_started_courses() {
+        when(studentScheduleIndex.schedule(1L)).thenReturn(StudentSchedule.EMPTY);
+        when(courseRepository.findPrices(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                coursePrice(1L, 1000L), coursePrice(2L, 2000L), new CoursePrice(3L, 3000L, nowTime.minusHours(1))));
+        // Started by the tracker's clock, the start time read before that is not past yet
+        when(courseLifecycleTracker.hasStarted(anyLong())).thenAnswer(invocation -> invocation.getArgument(0).equals(2L));
+
+        List<PriceQuote> quotes = priceQuoteService.quote("test@example.com", List.of(1L, 2L, 3L));
+
+        assertEquals(quoted(1L, 1000L, 1000L, false), quotes.get(0));
+        assertEquals(PriceQuote.Status.COURSE_STARTED, quotes.get(1).getStatus());
+        assertEquals(ErrorCode.COURSE_STARTED.getMessage(), quotes.get(1).getMessage());
+        assertEquals(PriceQuote.Status.COURSE_STARTED, quotes.get(2).getStatus());
+        assertNull(quotes.get(2).getPrice());
+    }
+
+    @Test
+    void should_memoize_at_most_max_courses_per_student() {
+        when(studentScheduleIndex.schedule(1L)).thenReturn(StudentSchedule.EMPTY);
+        when(courseRepository.findPrices(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(coursePrice(1L, 1000L), coursePrice(2L, 2000L), coursePrice(3L, 3000L)));
+        when(courseRepository.findPrices(List.of(3L))).thenReturn(List.of(coursePrice(3L, 3000L)));
+
+        priceQuoteService.quote("test@example.com", List.of(1L, 2L, 3L));
+        // The third price did not fit in the memo and is read again, still quoted
+        assertEquals(quoted(3L, 3000L, 3000L, false), priceQuoteService.quote("test@example.com", List.of(1L, 2L, 3L)).get(2));
+
+        verify(courseRepository, times(1)).findPrices(List.of(3L));
+    }
+
+    @Test
+    void should_reject_unknown_students_and_empty_requests() {
+        when(studentRepository.findSnapshotByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        RegistrationRejectedException unknown = assertThrows(RegistrationRejectedException.class,
+                () -> priceQuoteService.quote("nobody@example.com", List.of(1L)));
+        assertEquals(ErrorCode.STUDENT_NOT_FOUND, unknown.getCode());
+
+        RegistrationRejectedException empty = assertThrows(RegistrationRejectedException.class,
+                () -> priceQuoteService.quote("test@example.com", List.of()));
+        assertEquals(ErrorCode.NO_COURSES_TO_QUOTE, empty.getCode());
+        verifyNoInteractions(courseRepository);
+    }
+
+    private CoursePrice coursePrice(Long courseId, Long price) {
+        return new CoursePrice(courseId, price, nowTime.plusDays(7));
+    }
+
+    private static PriceQuote quoted(Long courseId, Long listPrice, Long price, boolean discounted) {
+        return PriceQuote.builder()
+                .courseId(courseId)
+                .status(PriceQuote.Status.QUOTED)
+                .listPrice(listPrice)
+                .price(price)
+                .discounted(discounted)
+                .build();
+    }
+}
@@ -1,29 +1,49 @@
 package com.samsung.springtdd.services;
 
+import com.samsung.springtdd.controllers.RegistrationController;
+import com.samsung.springtdd.metrics.RegistrationMetrics;
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSnapshot;
+import com.samsung.springtdd.models.DTO.StudentSnapshot;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.ErrorCode;
 import com.samsung.springtdd.models.Registration;
 import com.samsung.springtdd.models.Student;
 import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationContext;
 import com.samsung.springtdd.models.repository.RegistrationRepository;
 import com.samsung.springtdd.models.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -47,9 +67,33 @@ public class RegistrationServiceTest {
     @Mock
     private RegistrationRepository registrationRepository;
 
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @Mock
+    private RegistrationWriteBehind registrationWriteBehind;
+
+    @Mock
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Mock
+    private CourseLifecycleTracker courseLifecycleTracker;
+
     @Mock
     private Clock clock;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RegistrationMetrics registrationMetrics = new RegistrationMetrics(meterRegistry);
+
+    @Spy
+    private CoursePricing coursePricing = new CoursePricing();
+
+    @Spy
+    private ConflictRetryPolicy conflictRetryPolicy = new ConflictRetryPolicy(
+            mock(PlatformTransactionManager.class), meterRegistry, 3, Duration.ZERO, Duration.ZERO);
+
     @InjectMocks
     private RegistrationService registrationService;
 
@@ -57,7 +101,14 @@ public class RegistrationServiceTest {
     private final Clock fixedClock = Clock.fixed(Instant.parse("2023-01-01T10:00:00Z"), ZoneId.systemDefault());
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(registrationService).build();
+        lenient().when(clock.instant()).thenReturn(fixedClock.instant());
+        lenient().when(clock.getZone()).thenReturn(fixedClock.getZone());
+        lenient().when(seatAllocator.tryReserve(anyLong())).thenReturn(true);
+        lenient().when(studentScheduleIndex.schedule(anyLong())).thenReturn(StudentSchedule.EMPTY);
+
+        RegistrationController registrationController = new RegistrationController();
+        ReflectionTestUtils.setField(registrationController, "registrationService", registrationService);
+        mockMvc = MockMvcBuilders.standaloneSetup(registrationController).build();
     }
 
     @Test
@@ -75,23 +126,53 @@ public class RegistrationServiceTest {
 
         LocalDateTime now = LocalDateTime.now(fixedClock); // Sử dụng cùng cách tính thời gian như trong service
 
-        when(studentRepository.findByEmail("test@example.com")).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(registrationRepository.findByStudentAndCourse(student, course)).thenReturn(Optional.empty());
-        when(registrationRepository.countByStudentAndCourseStartTimeLessThanAndCourseEndTimeGreaterThan(any(), any(), any())).thenReturn(0);
-        when(registrationRepository.save(any(Registration.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(registrationRepository.findRegistrationContext("test@example.com", 1L, now))
+                .thenReturn(List.of(context(student, course, false, null)));
+        when(registrationRepository.saveAndFlush(any(Registration.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        when(registrationRepository.findByStudentAndCourseStartTimeAfter(any(Student.class), any(LocalDateTime.class)))
-                .thenReturn(List.of(new Registration(student, course, 1000L, now)));
-
-        List<Course> result = registrationService.register("test@example.com", 1L);
+        List<CourseSummary> result = registrationService.register("test@example.com", 1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getId());
         assertEquals("Future Course", result.get(0).getName());
 
-        verify(registrationRepository, times(1)).save(any(Registration.class));
+        verify(registrationRepository, times(1)).saveAndFlush(any(Registration.class));
+        assertEquals(1, meterRegistry.get("registration.requests")
+                .tags("operation", "register", "outcome", "success")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("registration.step")
+                .tags("operation", "register", "step", "insert")
+                .timer().count());
+    }
+
+    @Test
+    void should_return_upcoming_courses_and_new_course() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+        Course course = Course.builder()
+                .id(2L)
+                .name("New Course")
+                .startTime(fixedDateTime.plusDays(3))
+                .endTime(fixedDateTime.plusDays(4))
+                .price(1000L)
+                .build();
+        Course upcoming = Course.builder()
+                .id(1L)
+                .name("Upcoming Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(500L)
+                .build();
+
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(2L), any()))
+                .thenReturn(List.of(context(student, course, false, upcoming)));
+        when(registrationRepository.saveAndFlush(any(Registration.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CourseSummary> result = registrationService.register("test@example.com", 2L);
+
+        assertEquals(List.of(
+                new CourseSummary(1L, "Upcoming Course", fixedDateTime.plusDays(1), fixedDateTime.plusDays(2), 500L),
+                new CourseSummary(2L, "New Course", fixedDateTime.plusDays(3), fixedDateTime.plusDays(4), 1000L)), result);
     }
 
     @Test
@@ -105,14 +186,19 @@ public class RegistrationServiceTest {
                 .endTime(LocalDateTime.of(2023, 1, 1, 10, 0))
                 .build();
 
-        when(studentRepository.findByEmail("test@example.com")).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, false, null)));
 
-        assertThrows(IllegalArgumentException.class, () -> {
+        RegistrationRejectedException exception = assertThrows(RegistrationRejectedException.class, () -> {
             registrationService.register("test@example.com", 1L);
         });
 
-        verify(registrationRepository, times(0)).save(any());
+        assertEquals(ErrorCode.COURSE_STARTED, exception.getCode());
+        assertEquals(0, exception.getStackTrace().length);
+        verify(registrationRepository, times(0)).saveAndFlush(any());
+        assertEquals(1, meterRegistry.get("registration.requests")
+                .tags("operation", "register", "outcome", "course_started")
+                .timer().count());
     }
 
     @Test
@@ -131,17 +217,9 @@ public class RegistrationServiceTest {
                 .price(1000L)
                 .build();
 
-        Registration existingRegistration = Registration.builder()
-                .student(student)
-                .course(course)
-                .price(1000L)
-                .registeredDate(fixedDateTime.minusDays(1)) // Đăng ký trước đó
-                .build();
-
-        // Mock repository
-        when(studentRepository.findByEmail("test@example.com")).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(registrationRepository.findByStudentAndCourse(student, course)).thenReturn(Optional.of(existingRegistration));
+        // Mock repository: khóa học đã được đăng ký trước đó
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, true, course)));
 
         // Thực hiện và kiểm tra
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -150,34 +228,183 @@ public class RegistrationServiceTest {
         assertEquals("Already registered for this course", exception.getMessage());
 
         // Xác minh không có bản ghi mới được lưu
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
     }
 
 
+    @Test
+    void should_return_exception_for_register_course_registered_concurrently() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+
+        Course course = Course.builder()
+                .id(1L)
+                .name("Future Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, false, null)));
+        when(registrationRepository.saveAndFlush(any(Registration.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_registrations_student_course"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.register("test@example.com", 1L));
+        assertEquals("Already registered for this course", exception.getMessage());
+    }
+
+    @Test
+    void should_return_exception_for_course_without_free_seats() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+
+        Course course = Course.builder()
+                .id(1L)
+                .name("Full Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .capacity(10)
+                .seatsTaken(9)
+                .build();
+
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, false, null)));
+        when(seatAllocator.tryReserve(1L)).thenReturn(false);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.register("test@example.com", 1L));
+        assertEquals("Course is full", exception.getMessage());
+
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
+    }
+
+    @Test
+    void should_return_exception_for_sold_out_course_without_database_access() {
+        when(seatAllocator.isSoldOut(1L)).thenReturn(true);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.register("test@example.com", 1L));
+        assertEquals("Course is full", exception.getMessage());
+
+        verifyNoInteractions(studentRepository, courseRepository, registrationRepository);
+    }
+
+    @Test
+    void should_return_exception_for_queued_registration_before_reading_context() {
+        when(registrationWriteBehind.isPending("test@example.com", 1L)).thenReturn(true);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.registerAsync("test@example.com", 1L));
+        assertEquals("Already registered for this course", exception.getMessage());
+
+        verifyNoInteractions(registrationRepository);
+    }
+
+    @Test
+    void should_return_exception_for_started_course_without_reading_the_database() {
+        when(courseLifecycleTracker.hasStarted(1L)).thenReturn(true);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.register("test@example.com", 1L));
+        assertEquals("Course has already started", exception.getMessage());
+
+        verifyNoInteractions(registrationRepository);
+        verify(seatAllocator, never()).tryReserve(anyLong());
+    }
+
+    @Test
+    void should_track_course_read_with_the_registration_context() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+        Course course = Course.builder()
+                .id(1L)
+                .name("Future Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, false, null)));
+
+        registrationService.register("test@example.com", 1L);
+
+        verify(courseLifecycleTracker).trackIfUnknown(1L, course.getStartTime(), course.getEndTime());
+    }
+
+    @Test
+    void should_apply_discount_when_student_has_two_ongoing_courses() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+
+        Course course = Course.builder()
+                .id(1L)
+                .name("Future Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, false, null)));
+        when(studentScheduleIndex.schedule(1L)).thenReturn(twoOngoingCourses());
+
+        registrationService.register("test@example.com", 1L);
+
+        verify(registrationRepository).saveAndFlush(argThat(registration -> registration.getPrice() == 750L));
+    }
+
+    @Test
+    void should_return_exception_for_course_overlapping_registered_course() {
+        ReflectionTestUtils.setField(registrationService, "rejectOverlappingCourses", true);
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+
+        Course course = Course.builder()
+                .id(1L)
+                .name("Overlapping Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, false, null)));
+        when(studentScheduleIndex.schedule(1L)).thenReturn(StudentSchedule.EMPTY
+                .with(5L, fixedDateTime.plusDays(1).plusHours(12), fixedDateTime.plusDays(3)));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.register("test@example.com", 1L));
+        assertEquals("Course overlaps another registered course", exception.getMessage());
+
+        verify(seatAllocator, never()).tryReserve(anyLong());
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
+    }
+
     @Test
     void should_return_exception_for_student_does_not_exist() {
-        when(studentRepository.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
+        when(registrationRepository.findRegistrationContext(eq("unknown@example.com"), eq(1L), any())).thenReturn(List.of());
 
         assertThrows(IllegalArgumentException.class, () -> {
             registrationService.register("unknown@example.com", 1L);
         });
 
-        verify(registrationRepository, times(0)).save(any());
+        verify(registrationRepository, times(0)).saveAndFlush(any());
+        assertEquals(1, meterRegistry.get("registration.requests")
+                .tags("operation", "register", "outcome", "student_not_found")
+                .timer().count());
     }
 
     @Test
     void should_return_exception_for_course_not_exist() {
         Student student = Student.builder().id(1L).email("test@example.com").build();
 
-        when(studentRepository.findByEmail("test@example.com")).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.empty());
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, null, false, null)));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
             registrationService.register("test@example.com", 1L);
         });
         assertEquals("Course not found", exception.getMessage());
 
-        verify(registrationRepository, times(0)).save(any(Registration.class));
+        verify(registrationRepository, times(0)).saveAndFlush(any(Registration.class));
     }
 
     @Test
@@ -187,8 +414,8 @@ public class RegistrationServiceTest {
         Course course = Course.builder()
                 .id(1L)
                 .name("Started Course")
-                .startTime(LocalDateTime.now().plusDays(5))
-                .endTime(LocalDateTime.now().plusDays(1))
+                .startTime(fixedDateTime.plusDays(5))
+                .endTime(fixedDateTime.plusDays(1))
                 .price(1000L)
                 .build();
 
@@ -197,21 +424,74 @@ public class RegistrationServiceTest {
         registration.setStudent(student);
         registration.setCourse(course);
 
-        when(studentRepository.findByEmail("test@example.com")).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(registrationRepository.findByStudentAndCourse(student, course)).thenReturn(Optional.of(registration));
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findSnapshotById(1L)).thenReturn(Optional.of(snapshot(course)));
+        when(registrationRepository.findByStudentAndCourseId(student, 1L)).thenReturn(Optional.of(registration));
 
         mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete("/unregister/1/test@example.com"))
                 .andExpect(status().isNoContent());
 
         verify(registrationRepository, times(1)).delete(registration);
+        verify(seatAllocator, times(1)).release(1L);
+    }
+
+
+    @Test
+    void should_retry_unregister_that_lost_a_race() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+        Course course = Course.builder()
+                .id(1L)
+                .startTime(fixedDateTime.plusDays(5))
+                .endTime(fixedDateTime.plusDays(6))
+                .price(1000L)
+                .build();
+        Registration registration = new Registration(student, course, 1000L, fixedDateTime);
+
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findSnapshotById(1L)).thenReturn(Optional.of(snapshot(course)));
+        // The first attempt finds the registration, a concurrent unregister deletes it first
+        when(registrationRepository.findByStudentAndCourseId(student, 1L))
+                .thenReturn(Optional.of(registration))
+                .thenReturn(Optional.empty());
+        doThrow(new ObjectOptimisticLockingFailureException(Registration.class, 1L))
+                .when(registrationRepository).flush();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.unregister(1L, "test@example.com"));
+
+        assertEquals("Registration not found", exception.getMessage());
+        verify(seatAllocator, never()).release(anyLong());
+        assertEquals(1, meterRegistry.get("registration.retries").tags("operation", "unregister").counter().count());
     }
 
+    @Test
+    void should_return_conflict_after_last_attempt() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+        Course course = Course.builder()
+                .id(1L)
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+
+        when(registrationRepository.findRegistrationContext(eq("test@example.com"), eq(1L), any()))
+                .thenReturn(List.of(context(student, course, false, null)));
+        when(registrationRepository.saveAndFlush(any(Registration.class)))
+                .thenThrow(new PessimisticLockingFailureException("Deadlock found when trying to get lock"));
+
+        assertThrows(RegistrationConflictException.class, () ->
+                registrationService.register("test@example.com", 1L));
+
+        verify(registrationRepository, times(3)).saveAndFlush(any(Registration.class));
+        assertEquals(1, meterRegistry.get("registration.requests")
+                .tags("operation", "register", "outcome", "conflict")
+                .timer().count());
+    }
 
     @Test
     void should_return_exception_for_unregister_with_nonexistent_email() {
         String nonExistentEmail = "nonexistent@example.com";
-        when(studentRepository.findByEmail(nonExistentEmail)).thenReturn(Optional.empty());
+        when(studentRepository.findSnapshotByEmail(nonExistentEmail)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 registrationService.unregister(1L, nonExistentEmail));
@@ -223,8 +503,8 @@ public class RegistrationServiceTest {
     @Test
     void should_return_exception_for_unregister_with_nonexistent_course() {
         Student student = Student.builder().id(1L).email("test@example.com").build();
-        when(studentRepository.findByEmail("test@example.com")).thenReturn(Optional.of(student));
-        when(courseRepository.findById(999L)).thenReturn(Optional.empty());
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findSnapshotById(999L)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 registrationService.unregister(999L, "test@example.com"));
@@ -241,13 +521,13 @@ public class RegistrationServiceTest {
         Course course = Course.builder()
                 .id(1L)
                 .name("Started Course")
-                .startTime(LocalDateTime.now().minusDays(1))
-                .endTime(LocalDateTime.now().plusDays(1))
+                .startTime(fixedDateTime.minusDays(1))
+                .endTime(fixedDateTime.plusDays(1))
                 .price(1000L)
                 .build();
 
-        when(studentRepository.findByEmail("test@example.com")).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findSnapshotById(1L)).thenReturn(Optional.of(snapshot(course)));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
@@ -257,5 +537,176 @@ public class RegistrationServiceTest {
         verify(registrationRepository, never()).delete(any(Registration.class));
     }
 
+    @Test
+    void should_return_exception_for_unregister_course_known_to_have_started_without_reading_the_database() {
+        when(courseLifecycleTracker.hasStarted(1L)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.unregister(1L, "test@example.com"));
+        assertEquals("Cannot unregister from a course that has already started", exception.getMessage());
+
+        verifyNoInteractions(studentRepository, courseRepository, registrationRepository);
+    }
+
+    @Test
+    void should_return_batch_results_and_insert_all_registrable_courses_at_once() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+
+        Course future = Course.builder()
+                .id(1L)
+                .name("Future Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+        Course started = Course.builder()
+                .id(2L)
+                .name("Started Course")
+                .startTime(fixedDateTime.minusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+        Course registered = Course.builder()
+                .id(3L)
+                .name("Registered Course")
+                .startTime(fixedDateTime.plusDays(1))
+                .endTime(fixedDateTime.plusDays(2))
+                .price(1000L)
+                .build();
+
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findAllById(any())).thenReturn(List.of(future, started, registered));
+        when(registrationRepository.findRegisteredCourseIds(eq(student), any())).thenReturn(Set.of(3L));
+        when(studentScheduleIndex.schedule(1L)).thenReturn(twoOngoingCourses());
+
+        List<BatchRegistrationResult> results = registrationService.registerBatch("test@example.com", List.of(1L, 2L, 3L, 4L, 1L));
+
+        assertEquals(4, results.size());
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals(750L, results.get(0).getPrice());
+        assertEquals(BatchRegistrationResult.Status.COURSE_STARTED, results.get(1).getStatus());
+        assertEquals(BatchRegistrationResult.Status.ALREADY_REGISTERED, results.get(2).getStatus());
+        assertEquals(BatchRegistrationResult.Status.COURSE_NOT_FOUND, results.get(3).getStatus());
+
+        verify(registrationRepository, times(1)).insertAll(argThat(registrations ->
+                registrations.size() == 1 && registrations.get(0).getCourse() == future));
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
+    }
+
+    @Test
+    void should_reject_overlapping_courses_within_one_batch() {
+        ReflectionTestUtils.setField(registrationService, "rejectOverlappingCourses", true);
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+        Course morning = Course.builder().id(1L).name("Morning").price(1000L)
+                .startTime(fixedDateTime.plusDays(1)).endTime(fixedDateTime.plusDays(1).plusHours(3)).build();
+        Course brunch = Course.builder().id(2L).name("Brunch").price(1000L)
+                .startTime(fixedDateTime.plusDays(1).plusHours(2)).endTime(fixedDateTime.plusDays(1).plusHours(4)).build();
+        Course afternoon = Course.builder().id(3L).name("Afternoon").price(1000L)
+                .startTime(fixedDateTime.plusDays(1).plusHours(3)).endTime(fixedDateTime.plusDays(1).plusHours(6)).build();
+
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findAllById(any())).thenReturn(List.of(morning, brunch, afternoon));
+        when(registrationRepository.findRegisteredCourseIds(eq(student), any())).thenReturn(Set.of());
+
+        List<BatchRegistrationResult> results = registrationService.registerBatch("test@example.com", List.of(1L, 2L, 3L));
+
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals(BatchRegistrationResult.Status.COURSE_OVERLAPS, results.get(1).getStatus());
+        // Starts exactly when the morning course ends
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(2).getStatus());
+        verify(seatAllocator).tryReserveAll(Map.of(1L, 1, 3L, 1));
+    }
+
+    @Test
+    void should_reserve_batch_seats_together_and_reject_full_courses() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+        Course popular = Course.builder().id(3L).name("Popular").price(1000L).capacity(10)
+                .startTime(fixedDateTime.plusDays(1)).endTime(fixedDateTime.plusDays(2)).build();
+        Course quiet = Course.builder().id(1L).name("Quiet").price(1000L)
+                .startTime(fixedDateTime.plusDays(3)).endTime(fixedDateTime.plusDays(4)).build();
+        Course soldOut = Course.builder().id(2L).name("Sold Out").price(1000L).capacity(1).seatsTaken(1)
+                .startTime(fixedDateTime.plusDays(5)).endTime(fixedDateTime.plusDays(6)).build();
+
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findAllById(any())).thenReturn(List.of(popular, quiet, soldOut));
+        when(registrationRepository.findRegisteredCourseIds(eq(student), any())).thenReturn(Set.of());
+        // Taken by another cart between reading the course and reserving its seat
+        when(seatAllocator.tryReserveAll(Map.of(3L, 1, 1L, 1))).thenReturn(Set.of(3L));
+
+        List<BatchRegistrationResult> results = registrationService.registerBatch("test@example.com", List.of(3L, 1L, 2L));
+
+        assertEquals(BatchRegistrationResult.Status.COURSE_FULL, results.get(0).getStatus());
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(1).getStatus());
+        assertEquals(BatchRegistrationResult.Status.COURSE_FULL, results.get(2).getStatus());
+        verify(seatAllocator, never()).tryReserve(anyLong());
+        verify(registrationRepository).insertAll(argThat(registrations ->
+                registrations.size() == 1 && registrations.get(0).getCourse() == quiet));
+    }
+
+    @Test
+    void should_return_conflict_when_batch_keeps_losing_lock_race() {
+        Student student = Student.builder().id(1L).email("test@example.com").build();
+        Course course = Course.builder().id(1L).name("Contended").price(1000L)
+                .startTime(fixedDateTime.plusDays(1)).endTime(fixedDateTime.plusDays(2)).build();
+
+        when(studentRepository.findSnapshotByEmail("test@example.com")).thenReturn(Optional.of(snapshot(student)));
+        when(courseRepository.findAllById(any())).thenReturn(List.of(course));
+        when(registrationRepository.findRegisteredCourseIds(eq(student), any())).thenReturn(Set.of());
+        when(seatAllocator.tryReserveAll(any())).thenThrow(new PessimisticLockingFailureException("Deadlock found"));
+
+        assertThrows(RegistrationConflictException.class, () ->
+                registrationService.registerBatch("test@example.com", List.of(1L)));
+        verify(seatAllocator, times(3)).tryReserveAll(any());
+        verify(registrationRepository, never()).insertAll(any());
+    }
 
-}
\ No newline at end of file
+    @Test
+    void should_return_exception_for_batch_with_nonexistent_email() {
+        when(studentRepository.findSnapshotByEmail("unknown@example.com")).thenReturn(Optional.empty());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.registerBatch("unknown@example.com", List.of(1L)));
+        assertEquals("Student not found", exception.getMessage());
+
+        verify(registrationRepository, never()).insertAll(any());
+    }
+
+    private StudentSchedule twoOngoingCourses() {
+        return StudentSchedule.EMPTY
+                .with(10L, fixedDateTime.minusDays(10), fixedDateTime.plusHours(12))
+                .with(11L, fixedDateTime.minusDays(5), fixedDateTime.plusHours(20));
+    }
+
+    private static StudentSnapshot snapshot(Student student) {
+        return new StudentSnapshot(student.getId(), student.getEmail(), student.getFirstName(), student.getLastName());
+    }
+
+    private static CourseSnapshot snapshot(Course course) {
+        return new CourseSnapshot(course.getId(), course.getName(), course.getStartTime(), course.getEndTime(),
+                course.getPrice(), course.getCapacity());
+    }
+
+    private RegistrationContext context(Student student, Course course, boolean alreadyRegistered, Course upcomingCourse) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("studentId", student.getId());
+        if (course != null) {
+            row.put("courseId", course.getId());
+            row.put("courseName", course.getName());
+            row.put("courseStartTime", course.getStartTime());
+            row.put("courseEndTime", course.getEndTime());
+            row.put("coursePrice", course.getPrice());
+            row.put("courseCapacity", course.getCapacity());
+            row.put("courseSeatsTaken", course.getSeatsTaken());
+            row.put("courseVersion", course.getVersion());
+        }
+        row.put("alreadyRegistered", alreadyRegistered);
+        if (upcomingCourse != null) {
+            row.put("upcomingCourseId", upcomingCourse.getId());
+            row.put("upcomingCourseName", upcomingCourse.getName());
+            row.put("upcomingCourseStartTime", upcomingCourse.getStartTime());
+            row.put("upcomingCourseEndTime", upcomingCourse.getEndTime());
+            row.put("upcomingCoursePrice", upcomingCourse.getPrice());
+        }
+        return new SpelAwareProxyProjectionFactory().createProjection(RegistrationContext.class, row);
+    }
+}
@@ -0,0 +1,204 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "registration.write-behind.enabled=true")
+@AutoConfigureMockMvc
+public class RegistrationWriteBehindTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_accept_with_ticket_and_flush_registration() throws Exception {
+        studentRepository.save(Student.builder().email("queued@example.com").build());
+        Course course = courseRepository.save(course("Queued Course", LocalDateTime.now().plusDays(7)));
+
+        String body = mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"queued@example.com\",\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.ticketId").exists())
+                .andExpect(jsonPath("$.price").value(1000))
+                .andReturn().getResponse().getContentAsString();
+        String ticketId = body.replaceAll(".*\"ticketId\":\"([^\"]+)\".*", "$1");
+
+        assertEquals(RegistrationTicket.Status.REGISTERED, awaitFlushed(ticketId).getStatus());
+        mockMvc.perform(get("/register/tickets/" + ticketId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REGISTERED"));
+        assertEquals(1, registrationRepository.count());
+        assertEquals(1, courseRepository.findById(course.getId()).orElseThrow().getSeatsTaken());
+    }
+
+    @Test
+    void should_return_404_for_unknown_ticket() throws Exception {
+        mockMvc.perform(get("/register/tickets/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_reject_duplicate_of_queued_or_flushed_registration() {
+        studentRepository.save(Student.builder().email("twice@example.com").build());
+        Course course = courseRepository.save(course("Popular Course", LocalDateTime.now().plusDays(7)));
+
+        RegistrationTicket ticket = registrationService.registerAsync("twice@example.com", course.getId());
+        IllegalArgumentException whileQueued = assertThrows(IllegalArgumentException.class,
+                () -> registrationService.registerAsync("twice@example.com", course.getId()));
+        assertEquals("Already registered for this course", whileQueued.getMessage());
+
+        awaitFlushed(ticket.getTicketId());
+        IllegalArgumentException afterFlush = assertThrows(IllegalArgumentException.class,
+                () -> registrationService.registerAsync("twice@example.com", course.getId()));
+        assertEquals("Already registered for this course", afterFlush.getMessage());
+        assertEquals(1, registrationRepository.count());
+    }
+
+    @Test
+    void should_reject_queued_duplicate_with_differently_cased_email() {
+        // Not started, so nothing is flushed and the registration stays pending
+        RegistrationWriteBehind writeBehind = new RegistrationWriteBehind();
+        ReflectionTestUtils.setField(writeBehind, "queue", new ArrayBlockingQueue<>(10));
+        ReflectionTestUtils.setField(writeBehind, "offerTimeout", Duration.ZERO);
+        ReflectionTestUtils.setField(writeBehind, "running", true);
+        Course course = Course.builder().id(1L).name("Cased Course").build();
+
+        writeBehind.enqueue(new Registration(Student.builder().id(1L).email("cased@example.com").build(), course, 1000L, LocalDateTime.now()));
+
+        assertTrue(writeBehind.isPending("Cased@Example.COM", course.getId()));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> writeBehind.enqueue(
+                new Registration(Student.builder().id(1L).email("CASED@example.com").build(), course, 1000L, LocalDateTime.now())));
+        assertEquals("Already registered for this course", duplicate.getMessage());
+    }
+
+    @Test
+    void should_save_the_rest_of_a_batch_holding_a_duplicate() {
+        Student student = studentRepository.save(Student.builder().email("batch@example.com").build());
+        // One seat for the registration already saved, one reserved by the queued duplicate
+        Course taken = course("Taken Course", LocalDateTime.now().plusDays(7));
+        taken.setSeatsTaken(2);
+        taken = courseRepository.save(taken);
+        Course free = course("Free Course", LocalDateTime.now().plusDays(7));
+        free.setSeatsTaken(1);
+        free = courseRepository.save(free);
+        registrationRepository.save(new Registration(student, taken, 1000L, LocalDateTime.now()));
+
+        // Not started, the queue is flushed below as one batch
+        RegistrationWriteBehind writeBehind = new RegistrationWriteBehind();
+        ReflectionTestUtils.setField(writeBehind, "registrationRepository", registrationRepository);
+        ReflectionTestUtils.setField(writeBehind, "seatAllocator", seatAllocator);
+        ReflectionTestUtils.setField(writeBehind, "studentScheduleIndex", studentScheduleIndex);
+        ReflectionTestUtils.setField(writeBehind, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(writeBehind, "queue", new ArrayBlockingQueue<>(10));
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 10);
+        ReflectionTestUtils.setField(writeBehind, "maxDelay", Duration.ZERO);
+        ReflectionTestUtils.setField(writeBehind, "offerTimeout", Duration.ZERO);
+        ReflectionTestUtils.setField(writeBehind, "running", true);
+        RegistrationTicket duplicate = writeBehind.enqueue(new Registration(student, taken, 1000L, LocalDateTime.now()));
+        RegistrationTicket valid = writeBehind.enqueue(new Registration(student, free, 1000L, LocalDateTime.now()));
+
+        ReflectionTestUtils.setField(writeBehind, "running", false);
+        ReflectionTestUtils.invokeMethod(writeBehind, "flushLoop");
+
+        RegistrationTicket failed = writeBehind.findTicket(duplicate.getTicketId()).orElseThrow();
+        assertEquals(RegistrationTicket.Status.FAILED, failed.getStatus());
+        assertEquals("Already registered for this course", failed.getMessage());
+        assertEquals(RegistrationTicket.Status.REGISTERED, writeBehind.findTicket(valid.getTicketId()).orElseThrow().getStatus());
+        assertEquals(2, registrationRepository.count());
+        assertEquals(1, courseRepository.findById(taken.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(1, courseRepository.findById(free.getId()).orElseThrow().getSeatsTaken());
+        assertFalse(writeBehind.isPending("batch@example.com", taken.getId()));
+        assertFalse(writeBehind.isPending("batch@example.com", free.getId()));
+    }
+
+    @Test
+    void should_apply_discount_for_two_ongoing_courses() {
+        Student student = studentRepository.save(Student.builder().email("loyal@example.com").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 2; i++) {
+            Course ongoing = courseRepository.save(course("Ongoing " + i, now.minusDays(1)));
+            registrationRepository.save(new Registration(student, ongoing, 1000L, now.minusDays(2)));
+        }
+        Course course = courseRepository.save(course("Discounted Course", now.plusDays(7)));
+
+        RegistrationTicket ticket = registrationService.registerAsync("loyal@example.com", course.getId());
+
+        assertEquals(750L, ticket.getPrice());
+        assertEquals(RegistrationTicket.Status.REGISTERED, awaitFlushed(ticket.getTicketId()).getStatus());
+    }
+
+    private RegistrationTicket awaitFlushed(String ticketId) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            RegistrationTicket ticket = registrationService.findTicket(ticketId).orElseThrow();
+            if (ticket.getStatus() != RegistrationTicket.Status.QUEUED) {
+                return ticket;
+            }
+            Thread.onSpinWait();
+        }
+        return fail("Ticket " + ticketId + " was not flushed in time");
+    }
+
+    private Course course(String name, LocalDateTime startTime) {
+        return Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusDays(30))
+                .price(1000L)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many threads take seats of one hot course by reading the Course entity and writing it back, either
+ * with {@code @Version} and {@link ConflictRetryPolicy} or under a {@code PESSIMISTIC_WRITE} lock. The
+ * conditional update that {@link SeatAllocator} actually uses is run alongside for reference.
+ * Not part of the default test run, execute with {@code mvn test -Dtest=SeatContentionBenchmark}.
+ */
+@SpringBootTest
+public class SeatContentionBenchmark {
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int SEATS_PER_THREAD = Integer.getInteger("benchmark.seats", 200);
+    private static final String OPERATION = "seat_benchmark";
+
+    private interface SeatTaker {
+        void take(Long courseId);
+    }
+
+    @Autowired
+    private ConflictRetryPolicy conflictRetryPolicy;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void optimistic_with_retry_versus_pessimistic_write() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Counter retries = meterRegistry.counter("registration.retries", "operation", OPERATION);
+
+        System.out.printf("%d threads, %d seats each on one course%n", THREADS, SEATS_PER_THREAD);
+        // Warm up every variant once so the first measured one doesn't pay for JIT and pool start
+        for (boolean measured : new boolean[]{false, true}) {
+            double retriesBefore = retries.count();
+            String optimistic = run("optimistic + retry", courseId -> conflictRetryPolicy.execute(OPERATION, () -> {
+                Course course = entityManager.find(Course.class, courseId);
+                course.setSeatsTaken(course.getSeatsTaken() + 1);
+            }));
+            optimistic += String.format(", %.0f retries", retries.count() - retriesBefore);
+            String pessimistic = run("PESSIMISTIC_WRITE", courseId -> transactionTemplate.executeWithoutResult(status -> {
+                Course course = entityManager.find(Course.class, courseId, LockModeType.PESSIMISTIC_WRITE);
+                course.setSeatsTaken(course.getSeatsTaken() + 1);
+            }));
+            String conditional = run("conditional update", courseId -> transactionTemplate.executeWithoutResult(status ->
+                    courseRepository.reserveSeat(courseId)));
+            if (measured) {
+                System.out.printf("  %s%n  %s%n  %s%n", optimistic, pessimistic, conditional);
+            }
+        }
+    }
+
+    private String run(String name, SeatTaker seatTaker) throws Exception {
+        Long courseId = courseRepository.save(Course.builder()
+                .name("Hot Course")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(2))
+                .price(1000L)
+                .build()).getId();
+
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < SEATS_PER_THREAD; i++) {
+                    try {
+                        seatTaker.take(courseId);
+                        taken.incrementAndGet();
+                    } catch (RegistrationConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        executor.shutdown();
+
+        assertEquals(taken.get(), courseRepository.findById(courseId).orElseThrow().getSeatsTaken());
+        return String.format("%-20s %7.0f seats/s, %d taken, %d gave up with a conflict",
+                name, taken.get() / seconds, taken.get(), conflicts.get());
+    }
+}
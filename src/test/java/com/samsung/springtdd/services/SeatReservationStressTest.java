@@ -0,0 +1,109 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many students race for the last seats of one course; no matter how many threads compete,
+ * exactly {@code capacity} registrations may succeed.
+ */
+@SpringBootTest
+public class SeatReservationStressTest {
+    private static final int CAPACITY = 20;
+    private static final int STUDENTS = 200;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 16, 64})
+    void should_never_oversell_a_hot_course(int threads) throws Exception {
+        Course course = courseRepository.save(Course.builder()
+                .name("Hot Course")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(2))
+                .price(1000L)
+                .capacity(CAPACITY)
+                .build());
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            String email = "stress" + threads + "-" + i + "@example.com";
+            studentRepository.save(Student.builder().email(email).build());
+            emails.add(email);
+        }
+
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String email : emails) {
+            // Every student tries twice to also race the duplicate check
+            for (int attempt = 0; attempt < 2; attempt++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        registrationService.register(email, course.getId());
+                        registered.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        if ("Course is full".equals(e.getMessage())) {
+                            full.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        executor.shutdown();
+
+        System.out.printf("%3d threads: %6.0f requests/s, %d registered, %d rejected as full%n",
+                threads, futures.size() / seconds, registered.get(), full.get());
+
+        assertEquals(CAPACITY, registered.get());
+        assertEquals(CAPACITY, registrationRepository.count());
+        assertEquals(CAPACITY, courseRepository.findAll().get(0).getSeatsTaken());
+    }
+}
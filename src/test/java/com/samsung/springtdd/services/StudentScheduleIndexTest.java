@@ -0,0 +1,150 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "registration.reject-overlapping-courses=true")
+public class StudentScheduleIndexTest {
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentScheduleIndex studentScheduleIndex;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void should_follow_register_and_unregister() {
+        Student student = studentRepository.save(Student.builder().email("schedule@example.com").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(7);
+        Course first = courseRepository.save(course("First", start));
+        Course overlapping = courseRepository.save(course("Overlapping", start.plusDays(1)));
+        // Loaded before the registration, so the update after commit has to reach it
+        assertEquals(0, studentScheduleIndex.schedule(student.getId()).size());
+
+        registrationService.register("schedule@example.com", first.getId());
+
+        assertEquals(1, studentScheduleIndex.schedule(student.getId()).size());
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.register("schedule@example.com", overlapping.getId()));
+        assertEquals("Course overlaps another registered course", exception.getMessage());
+
+        registrationService.unregister(first.getId(), "schedule@example.com");
+        registrationService.register("schedule@example.com", overlapping.getId());
+
+        assertEquals(1, studentScheduleIndex.schedule(student.getId()).size());
+        assertTrue(studentScheduleIndex.schedule(student.getId()).overlaps(start.plusDays(2), start.plusDays(3)));
+    }
+
+    @Test
+    void should_reject_overlapping_rows_in_bulk_import() throws Exception {
+        Student student = studentRepository.save(Student.builder().email("import@example.com").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(7);
+        Course registered = courseRepository.save(course("Registered", start));
+        Course overlapping = courseRepository.save(course("Overlapping", start.plusDays(1)));
+        Course later = courseRepository.save(course("Later", start.plusDays(60)));
+        Course overlappingLater = courseRepository.save(course("Overlapping later", start.plusDays(61)));
+        registrationService.register("import@example.com", registered.getId());
+
+        String rows = """
+                {"email":"import@example.com","courseId":%d}
+                {"email":"import@example.com","courseId":%d}
+                {"email":"import@example.com","courseId":%d}
+                """.formatted(overlapping.getId(), later.getId(), overlappingLater.getId());
+        ImportReport report = bulkImportService.importRows(BulkImportService.Target.REGISTRATIONS,
+                RegistrationExportService.Format.NDJSON, new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(new ImportReport.RowError(1, "Course overlaps another registered course"),
+                new ImportReport.RowError(3, "Course overlaps another registered course")), report.getErrors());
+        assertEquals(2, studentScheduleIndex.schedule(student.getId()).size());
+    }
+
+    @Test
+    void should_not_record_rolled_back_registration() {
+        Student student = studentRepository.save(Student.builder().email("rollback@example.com").build());
+        Course course = courseRepository.save(course("Rolled back", LocalDateTime.now().plusDays(7)));
+        studentScheduleIndex.schedule(student.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            registrationService.register("rollback@example.com", course.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, studentScheduleIndex.schedule(student.getId()).size());
+    }
+
+    @Test
+    void should_reload_schedule_after_ttl() {
+        // Its own index, so the short TTL doesn't apply to the other tests
+        StudentScheduleIndex index = new StudentScheduleIndex();
+        ReflectionTestUtils.setField(index, "registrationRepository", registrationRepository);
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "maxIntervals", 1000L);
+        ReflectionTestUtils.setField(index, "ttl", Duration.ofMillis(200));
+        ReflectionTestUtils.invokeMethod(index, "init");
+        Student student = studentRepository.save(Student.builder().email("elsewhere@example.com").build());
+        Course course = courseRepository.save(course("Elsewhere", LocalDateTime.now().plusDays(7)));
+        assertEquals(0, index.schedule(student.getId()).size());
+
+        // Like a registration made on another instance, no commit hook reaches this index
+        registrationRepository.save(new Registration(student, course, 1000L, LocalDateTime.now()));
+
+        assertEquals(0, index.schedule(student.getId()).size());
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (index.schedule(student.getId()).size() == 0) {
+            assertTrue(System.nanoTime() < deadline, "Schedule was not reloaded after its TTL");
+            Thread.onSpinWait();
+        }
+    }
+
+    private Course course(String name, LocalDateTime startTime) {
+        return Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusDays(30))
+                .price(1000L)
+                .build();
+    }
+}
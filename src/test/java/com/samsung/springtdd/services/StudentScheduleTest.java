@@ -0,0 +1,64 @@
+package com.samsung.springtdd.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentScheduleTest {
+    private final LocalDateTime now = LocalDateTime.of(2023, 1, 1, 10, 0);
+
+    private final StudentSchedule schedule = StudentSchedule.EMPTY
+            .with(1L, now.minusDays(10), now.plusDays(10))
+            .with(2L, now.plusDays(20), now.plusDays(30))
+            .with(3L, now.minusDays(5), now)
+            .with(4L, now.minusDays(1), now.plusDays(1));
+
+    @Test
+    void should_count_courses_ongoing_at_a_time() {
+        assertEquals(2, schedule.countOngoing(now));
+        assertEquals(3, schedule.countOngoing(now.minusHours(1)));
+        assertEquals(1, schedule.countOngoing(now.plusDays(25)));
+        assertEquals(0, schedule.countOngoing(now.plusDays(15)));
+        // Ranges are exclusive at both ends, like the start < t < end query
+        assertEquals(0, schedule.countOngoing(now.plusDays(20)));
+        assertEquals(0, StudentSchedule.EMPTY.countOngoing(now));
+    }
+
+    @Test
+    void should_tell_when_the_ongoing_count_changes_next() {
+        assertEquals(now.plusDays(1), schedule.nextOngoingChange(now));
+        // A course counts as ongoing only once its start has passed
+        LocalDateTime afterStart = now.plusDays(20).plusNanos(1_000);
+        assertEquals(afterStart, schedule.nextOngoingChange(now.plusDays(15)));
+        assertEquals(1, schedule.countOngoing(afterStart));
+        assertEquals(0, schedule.countOngoing(afterStart.minusNanos(1_000)));
+        assertNull(schedule.nextOngoingChange(now.plusDays(30)));
+        assertNull(StudentSchedule.EMPTY.nextOngoingChange(now));
+    }
+
+    @Test
+    void should_detect_overlaps_but_not_touching_ranges() {
+        assertTrue(schedule.overlaps(now.plusDays(15), now.plusDays(21)));
+        assertTrue(schedule.overlaps(now.plusDays(21), now.plusDays(22)));
+        assertTrue(schedule.overlaps(now.minusDays(30), now.plusDays(40)));
+        assertFalse(schedule.overlaps(now.plusDays(10), now.plusDays(20)));
+        assertFalse(schedule.overlaps(now.plusDays(30), now.plusDays(31)));
+        assertFalse(schedule.overlaps(now.minusDays(20), now.minusDays(10)));
+        assertFalse(StudentSchedule.EMPTY.overlaps(now, now.plusDays(1)));
+    }
+
+    @Test
+    void should_replace_and_remove_courses_without_changing_the_original() {
+        StudentSchedule moved = schedule.with(2L, now.plusDays(40), now.plusDays(50));
+        StudentSchedule removed = schedule.without(1L).without(99L);
+
+        assertEquals(4, moved.size());
+        assertFalse(moved.overlaps(now.plusDays(21), now.plusDays(22)));
+        assertTrue(schedule.overlaps(now.plusDays(21), now.plusDays(22)));
+        assertEquals(3, removed.size());
+        assertEquals(1, removed.countOngoing(now));
+        assertEquals(2, schedule.countOngoing(now));
+    }
+}